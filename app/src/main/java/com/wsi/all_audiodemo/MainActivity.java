@@ -21,35 +21,62 @@
 
 package com.wsi.all_audiodemo;
 
-import android.annotation.SuppressLint;
 import android.content.ContentResolver;
+import android.content.Context;
 import android.content.Intent;
 import android.content.res.AssetFileDescriptor;
+import android.graphics.Typeface;
 import android.media.AudioManager;
-import android.media.MediaPlayer;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewTreeObserver;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.ListView;
+import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
+import com.wsi.all_audiodemo.audio.AlertEngine;
+import com.wsi.all_audiodemo.audio.AudioTrackOutput;
+import com.wsi.all_audiodemo.audio.LatencyStats;
+import com.wsi.all_audiodemo.audio.MixerTrack;
+import com.wsi.all_audiodemo.audio.NetSoundCache;
+import com.wsi.all_audiodemo.audio.PcmMixer;
+import com.wsi.all_audiodemo.audio.PlaybackThread;
+import com.wsi.all_audiodemo.audio.SoundIds;
+import com.wsi.all_audiodemo.audio.SoundLibrary;
+import com.wsi.all_audiodemo.audio.SoundStore;
+import com.wsi.all_audiodemo.audio.StreamingDataSource;
 import com.wsi.all_audiodemo.notify.ManageService;
 import com.wsi.all_audiodemo.notify.NotifyChannels;
 import com.wsi.all_audiodemo.notify.NotifyUtil;
+import com.wsi.all_audiodemo.notify.ServicePlayer;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.wsi.all_audiodemo.notify.NotifyUtil.notifySound;
 
@@ -63,24 +90,57 @@ import static com.wsi.all_audiodemo.notify.NotifyUtil.notifySound;
  * <li> 1. Access mp3 via Raw asset path, play in foreground
  * <li> 2. Access mp3 via Asset path, play in foreground
  * <li> 3. Access mp3 via network
+ * <li> 3b. Decode to pcm, play with low latency AudioTrack
+ * <li> 3c. Decode to pcm, overlapping taps mixed into one AudioTrack
  * <li> 4. Play and notify in foreground using notification
  * <li> 5. Play and notify in Background using notification
  */
 @SuppressWarnings({"ConstantConditions", "ConstantIfStatement", "JavadocLinkAsPlainText"})
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+    private static final String NET_CACHE_DIR = "netsounds";
+    private static final long NET_CACHE_BYTES = 20 * 1024 * 1024;
+    private static final long NET_CACHE_TTL_MILLI = TimeUnit.DAYS.toMillis(1);
+    private static final long NET_PREFIX_TIMEOUT_MILLI = 5000;
+    private static final String STARTUP = "startup";
+
     String mSound = "alert_air_horn";
     ListView mListView;
+    ArrayAdapter<String> mSoundAdapter;
     TextView mSoundName;
     View mAboutView;
     ManageService mManageService;
+    String[] mSoundNames;
+    // Sound from a notification Replay/Next intent, played once the list is filled.
+    String mIntentSound;
 
     // https://github.com/codepath/android_guides/wiki/Video-and-Audio-Playback-and-Recording
-    MediaPlayer mMediaPlayer = null;
+    // Players are created and prepared on PlaybackThread, results reported here on main thread.
+    final PlaybackThread.Listener mPlaybackListener = new PlaybackThread.Listener() {
+        @Override
+        public void onStarted(@NonNull PlaybackThread.Command command) {
+            Toast.makeText(getApplicationContext(),
+                    "start playing sound", Toast.LENGTH_SHORT).show();
+        }
+
+        @Override
+        public void onError(@NonNull PlaybackThread.Command command, @NonNull Exception ex) {
+            Toast.makeText(getApplicationContext(), ex.getMessage(), Toast.LENGTH_LONG).show();
+        }
+    };
+
+    // Network sound disk cache, created and used only on mNetExecutor.
+    final ExecutorService mNetExecutor = Executors.newSingleThreadExecutor();
+    NetSoundCache mNetCache;
+
+    // Decodes sounds missing from PcmCache before they are handed to MixerTrack.
+    final ExecutorService mMixExecutor = Executors.newSingleThreadExecutor();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        Trace.beginSection("MainActivity.onCreate");
         setContentView(R.layout.activity_main);
         Toolbar toolbar = findViewById(R.id.app_bar);
         setSupportActionBar(toolbar);
@@ -88,6 +148,10 @@ public class MainActivity extends AppCompatActivity {
         // versionName built at build time.
         setTitle(getString(R.string.app_name) + " " + getString(R.string.versionName));
 
+        // Lifecycle callbacks must see this activity start, the service starts after the first frame.
+        mManageService = new ManageService(getApplication());
+        mManageService.install();
+
         setupSoundSelectionView();
         mSoundName = findViewById(R.id.soundName);
         mAboutView = findViewById(R.id.about_text);
@@ -99,32 +163,29 @@ public class MainActivity extends AppCompatActivity {
         findViewById(R.id.playAssetBtn).setOnClickListener(v -> playAssetSound(mSound));
         // 3. Access mp3 via network, play in foreground
         findViewById(R.id.playNetworkBtn).setOnClickListener(v -> playNetworkSound("https://LanDenLabs.com/android/audiodemo/sounds/" + mSound + ".mp3"));
+        // 3b. Decode to pcm and play with low latency AudioTrack
+        findViewById(R.id.playTrackBtn).setOnClickListener(v -> playTrackSound(mSound));
+        // 3c. Decode to pcm and mix overlapping taps into one AudioTrack
+        findViewById(R.id.playMixBtn).setOnClickListener(v -> playMixSound(mSound));
         // 4. Play and notify in foreground using notification
         findViewById(R.id.notifyFg).setOnClickListener(v -> notifySoundFg(mSound));
         // 5. Play and notify in Background using notification
         findViewById(R.id.notifyBg).setOnClickListener(v -> notifySoundBg(mSound));
 
-        // Setup notification - used for option #4 and #5 above.
-        NotifyChannels.initChannels(this);
-        mManageService = new ManageService(getApplication());
-        mManageService.install();
+        // Notification channels, service and sound preload are set up after the first frame.
+        runAfterFirstFrame(this::deferredStartup);
 
-        // Handle Notification button press.
-        Intent intent = getIntent();
-        if (intent != null) {
-            // String action = intent.getAction();
-            String intentSound = intent.getStringExtra(NotifyUtil.EXTRA_AUDIO);
-            if (!TextUtils.isEmpty(intentSound)) {
-                for (int idx = 0; idx < mListView.getAdapter().getCount(); idx++) {
-                    if (mListView.getAdapter().getItem(idx).equals(intentSound)) {
-                        mSound = intentSound;
-                        mListView.setSelection(idx);
-                        playRawSound(mSound);
-                        break;
-                    }
-                }
-            }
-        }
+        // Handle Notification button press, the list is filled in deferredStartup().
+        mIntentSound = getIntentSound(getIntent());
+        Trace.endSection();
+    }
+
+    @Override
+    protected void onNewIntent(@NonNull Intent intent) {
+        super.onNewIntent(intent);
+        setIntent(intent);
+        mIntentSound = getIntentSound(intent);
+        playIntentSound();
     }
 
     @Override
@@ -145,21 +206,146 @@ public class MainActivity extends AppCompatActivity {
             mAboutView.setVisibility(View.VISIBLE);
             mAboutView.findViewById(R.id.about_close).setOnClickListener(v -> mAboutView.setVisibility(View.GONE));
             return true;
+        } else if (id == R.id.menu_latency) {
+            showLatencyStats();
+            return true;
         }
         return super.onOptionsItemSelected(item);
     }
 
+    @Override
+    protected void onDestroy() {
+        mNetExecutor.shutdown();
+        mMixExecutor.shutdown();
+        super.onDestroy();
+    }
+
     // ---------------------------------------------------------------------------------------------
     // Private class logic
 
+    /**
+     * Run action on the main thread once the first frame has been drawn.
+     */
+    private void runAfterFirstFrame(Runnable action) {
+        View decorView = getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            boolean drawn;
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                LatencyStats.getInstance().record(STARTUP, "firstFrame", getStartupMilli());
+                // Listener can not be removed during draw, post so the frame is submitted first.
+                new Handler(Looper.getMainLooper()).post(() -> {
+                    decorView.getViewTreeObserver().removeOnDrawListener(this);
+                    action.run();
+                });
+            }
+        });
+    }
+
+    /**
+     * Startup work which is not needed to draw the first frame.
+     * Service start and bind stays on main thread (its lifecycle callbacks are installed in
+     * onCreate), channel setup and catalog load plus sound preload run in parallel on
+     * background threads, SoundStore indexes on its own thread.
+     * Notify paths still initialize channels on first use if a tap beats the background setup.
+     */
+    private void deferredStartup() {
+        Trace.beginSection("MainActivity.deferredStartup");
+        mManageService.start();
+        SoundStore.getInstance(this).loadAsync();
+        Trace.endSection();
+
+        Context appContext = getApplicationContext();
+        runParallel(() -> {
+            reportFullyDrawn();
+            long interactiveMilli = getStartupMilli();
+            LatencyStats.getInstance().record(STARTUP, "interactive", interactiveMilli);
+            Log.d(TAG, "Startup interactive in " + interactiveMilli + "ms");
+        }, () -> {
+            Trace.beginSection("startup.initChannels");
+            NotifyChannels.initChannels(appContext);
+            Trace.endSection();
+        }, () -> {
+            // Sound names from the generated catalog, test sounds are not listed.
+            Trace.beginSection("startup.loadCatalog");
+            String[] soundNames = SoundLibrary.getInstance(appContext).getNames("test");
+            Trace.endSection();
+            runOnUiThread(() -> showSoundNames(soundNames));
+
+            // Decode short alerts once so the Raw button plays with near zero setup.
+            Trace.beginSection("startup.preloadSounds");
+            AlertEngine.getInstance(appContext).preload(soundNames);
+            Trace.endSection();
+        });
+    }
+
+    /**
+     * Run tasks on their own threads, then done on main thread after the last one finishes.
+     */
+    private void runParallel(Runnable done, Runnable... tasks) {
+        AtomicInteger remaining = new AtomicInteger(tasks.length);
+        for (Runnable task : tasks) {
+            new Thread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        runOnUiThread(done);
+                    }
+                }
+            }, "startup").start();
+        }
+    }
+
+    /**
+     * @return milliseconds since process start.
+     */
+    private static long getStartupMilli() {
+        return SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+    }
+
+    /**
+     * Show tap to sound latency per technique, Log dumps it to logcat.
+     */
+    private void showLatencyStats() {
+        TextView statsView = new TextView(this);
+        statsView.setTypeface(Typeface.MONOSPACE);
+        statsView.setTextIsSelectable(true);
+        int pad = getResources().getDimensionPixelSize(R.dimen.text_margin);
+        statsView.setPadding(pad, pad, pad, pad);
+        statsView.setText(LatencyStats.getInstance().toString());
+
+        ScrollView scrollView = new ScrollView(this);
+        scrollView.addView(statsView);
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.menu_latency)
+                .setView(scrollView)
+                .setPositiveButton(android.R.string.ok, null)
+                .setNeutralButton(R.string.latency_log, (dialog, which) -> LatencyStats.getInstance().log())
+                .setNegativeButton(R.string.latency_reset, (dialog, which) -> LatencyStats.getInstance().reset())
+                .show();
+    }
+
     /**
      * Play sound in background:
      *   1. Move activity to back of stack
      *   2. Bring home page of device into view.
      *   3. Sleep for 2 seconds to make sure we are in background.
      *   4. Play sound using notification, update notification msg.
+     * The sound is preloaded on the NotifyService player first, so the background alert
+     * starts from a warm voice bank.
      */
     private void notifySoundBg(String assetName) {
+        ServicePlayer player = (mManageService != null) ? mManageService.getPlayer() : null;
+        if (player != null) {
+            player.preload(new String[]{assetName});
+        }
+
         //  JobScheduler
         boolean sentAppToBackground =  moveTaskToBack(true);
         if (!sentAppToBackground){
@@ -169,14 +355,23 @@ public class MainActivity extends AppCompatActivity {
             this.startActivity(i);
         }
 
-        new Handler(Looper.getMainLooper()).postDelayed (() -> notifySound(getApplicationContext(), assetName, NotifyUtil.getIsForeground(mSoundName)), 2000);
+        new Handler(Looper.getMainLooper()).postDelayed (() -> {
+            long clickMilli = SystemClock.elapsedRealtime();
+            notifySound(getApplicationContext(), assetName, NotifyUtil.getIsForeground(mSoundName));
+            LatencyStats.getInstance().record("notify-bg", LatencyStats.STARTED,
+                    SystemClock.elapsedRealtime() - clickMilli);
+        }, 2000);
     }
 
     /**
      * Play sound in foreground using a notification.
      */
     private void notifySoundFg(String assetName) {
+        long clickMilli = SystemClock.elapsedRealtime();
         notifySound(getApplicationContext(), assetName, NotifyUtil.getIsForeground(mSoundName));
+        // Sound is played by the notification, only the post is measured.
+        LatencyStats.getInstance().record("notify-fg", LatencyStats.STARTED,
+                SystemClock.elapsedRealtime() - clickMilli);
     }
 
     /**
@@ -185,17 +380,29 @@ public class MainActivity extends AppCompatActivity {
     @SuppressWarnings("unused")
     private void playSound() {
         // Play sound using  resource reference.
-        if (mMediaPlayer != null) {
-            mMediaPlayer.stop();
-        }
-        mMediaPlayer = MediaPlayer.create(this, R.raw.alert_air_horn);
-        mMediaPlayer.start();
+        PlaybackThread.getInstance().play(new PlaybackThread.Command("raw", "alert_air_horn", false, mp -> {
+            try (AssetFileDescriptor afd = getResources().openRawResourceFd(R.raw.alert_air_horn)) {
+                mp.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            }
+        }), mPlaybackListener);
     }
 
     /**
      * Play sound file stored in res/raw/ directory
+     * <p>
+     * Short alerts play from the preloaded AlertEngine voice bank, long content
+     * falls through to the MediaPlayer below.
      */
     private void playRawSound(String rawName) {
+        if (AlertEngine.getInstance(this).isPreloaded(rawName)) {
+            mSoundName.setText(rawName);
+            long clickMilli = SystemClock.elapsedRealtime();
+            AlertEngine.getInstance(this).play(rawName);
+            LatencyStats.getInstance().record("raw-pool", LatencyStats.STARTED,
+                    SystemClock.elapsedRealtime() - clickMilli);
+            return;
+        }
+
         try {
             // Two ways to provide resource, either using its name or resource id.
             //
@@ -215,46 +422,30 @@ public class MainActivity extends AppCompatActivity {
                 path = RESOURCE_PATH + getPackageName() + "/raw/" + rawName;
             } else {
                 // Build path using resource number
-                @SuppressLint("DiscouragedApi")
-                int resID = getResources().getIdentifier(rawName, "raw", getPackageName());
+                int resID = SoundIds.getId(rawName);
                 path = RESOURCE_PATH + getPackageName() + File.separator + resID;
             }
             Uri soundUri = Uri.parse(path);
             mSoundName.setText(path);
 
-            mMediaPlayer = new MediaPlayer();
-            mMediaPlayer.setVolume(1.0f, 1.0f);
-            mMediaPlayer.setLooping(false);
-            mMediaPlayer.setOnPreparedListener(mp -> {
-                Toast.makeText(getApplicationContext(),
-                        "start playing sound", Toast.LENGTH_SHORT).show();
-                mMediaPlayer.start();
-            });
-            mMediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                Toast.makeText(getApplicationContext(), String.format(Locale.US,
-                        "Media error what=%d extra=%d", what, extra), Toast.LENGTH_LONG).show();
-                return false;
-            });
-
             //
             //  Different ways to load audio into player:
             //   1. Using path to resource by name or by id
             //   2. Using content provider to load audio and passing a file descriptor.
-            if (true) {
-                // 1. open audio using path to data inside package
-                mMediaPlayer.setDataSource(getApplicationContext(), soundUri);
-                mMediaPlayer.prepare();
-            }   else {
-                // 2. Load using content provider, passing file descriptor.
-                ContentResolver resolver = getContentResolver();
-                AssetFileDescriptor afd = resolver.openAssetFileDescriptor(soundUri, "r");
-                mMediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
-                afd.close();
-                mMediaPlayer.prepareAsync();
-            }
-
-            // See setOnPreparedListener above
-            //  mMediaPlayer.start();
+            //  Data source is set and prepared on the playback thread.
+            PlaybackThread.getInstance().play(new PlaybackThread.Command("raw", rawName, false, mp -> {
+                mp.setVolume(1.0f, 1.0f);
+                if (true) {
+                    // 1. open audio using path to data inside package
+                    mp.setDataSource(getApplicationContext(), soundUri);
+                } else {
+                    // 2. Load using content provider, passing file descriptor.
+                    ContentResolver resolver = getContentResolver();
+                    try (AssetFileDescriptor afd = resolver.openAssetFileDescriptor(soundUri, "r")) {
+                        mp.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+                    }
+                }
+            }), mPlaybackListener);
 
         } catch (Exception ex) {
             Toast.makeText(this, ex.getMessage(), Toast.LENGTH_LONG).show();
@@ -262,19 +453,27 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Play sound file stored in assets/sounds/ directory.
+     * Play sound asset style, APK file descriptor plus offset and length.
+     * <p>
+     * Sounds are packaged once in res/raw/, SoundStore serves the same bytes by offset.
+     * Uses the SoundStore index when ready, else opens the sound (zip lookup) directly.
      */
     private void playAssetSound(String assetName) {
-        try {
-            AssetFileDescriptor afd = getAssets().openFd("sounds/" + assetName + ".mp3");
-            mMediaPlayer = new MediaPlayer();
-            mMediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
-            afd.close();
-            mMediaPlayer.prepare();
-            mMediaPlayer.start();
-        } catch (Exception ex) {
-            Toast.makeText(this, ex.getMessage(), Toast.LENGTH_LONG).show();
-        }
+        mSoundName.setText(assetName);
+        SoundStore store = SoundStore.getInstance(this);
+        PlaybackThread.getInstance().play(new PlaybackThread.Command("asset", assetName, false, mp -> {
+            SoundStore.Entry entry = store.get(assetName);
+            if (entry != null) {
+                mp.setDataSource(store.getFileDescriptor(), entry.offset, entry.length);
+            } else {
+                try (AssetFileDescriptor afd = store.openFd(assetName)) {
+                    if (afd == null) {
+                        throw new IOException("Unknown sound " + assetName);
+                    }
+                    mp.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+                }
+            }
+        }), mPlaybackListener);
     }
 
     /**
@@ -291,35 +490,103 @@ public class MainActivity extends AppCompatActivity {
      *   <li> https://stackoverflow.com/questions/45940861/android-8-cleartext-http-traffic-not-permitted
      * Add network permission to AndroidManifest.xml
      *   <li> <uses-permission android:name="android.permission.INTERNET" />
+     * <p>
+     * Sound is served from NetSoundCache, which only goes to the network when the cached
+     * copy is stale. If not cached, the url is streamed through a ring buffered
+     * StreamingDataSource which starts playing once a prefix is buffered.
      */
     private void playNetworkSound(String netUrl) {
-        try {
-            mSoundName.setText(netUrl);
-
-            mMediaPlayer = new MediaPlayer();
-            // mMediaPlayer.setVolume(1.0f, 1.0f);
-            mMediaPlayer.setLooping(false);
-            mMediaPlayer.setOnPreparedListener(mp -> {
-                Toast.makeText(getApplicationContext(),
-                        "start playing sound", Toast.LENGTH_SHORT).show();
-                mMediaPlayer.start();
-            });
-            mMediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                Toast.makeText(getApplicationContext(), String.format(Locale.US,
-                        "Media error what=%d extra=%d", what, extra), Toast.LENGTH_LONG).show();
-                return false;
-            });
-
-            mMediaPlayer.setAudioAttributes(new android.media.AudioAttributes.Builder()
+        mSoundName.setText(netUrl);
+        long clickMilli = SystemClock.elapsedRealtime();
+        mNetExecutor.execute(() -> {
+            if (mNetCache == null) {
+                mNetCache = new NetSoundCache(new File(getCacheDir(), NET_CACHE_DIR),
+                        NET_CACHE_BYTES, NET_CACHE_TTL_MILLI);
+            }
+            if (mNetCache.contains(netUrl)) {
+                try {
+                    String path = mNetCache.get(netUrl).getPath();
+                    playNetworkSource("cached", path, null, clickMilli);
+                    return;
+                } catch (Exception ex) {
+                    Log.w(TAG, "Net cache failed, streaming " + netUrl + " " + ex.getMessage());
+                }
+            }
+
+            if (false) {
+                // Original path, let MediaPlayer buffer the url itself (nothing is cached).
+                playNetworkSource("direct", netUrl, null, clickMilli);
+                return;
+            }
+
+            // Not cached, stream progressively and let the download fill the cache.
+            StreamingDataSource stream = new StreamingDataSource(netUrl, mNetCache);
+            stream.start();
+            try {
+                if (!stream.getDownload().awaitPrefix(NET_PREFIX_TIMEOUT_MILLI)) {
+                    Log.w(TAG, "Stream prefix not ready, starting anyway " + netUrl);
+                }
+            } catch (InterruptedException ignore) {
+            }
+            playNetworkSource("progressive", null, stream, clickMilli);
+        });
+    }
+
+    /**
+     * Play res/raw/ sound decoded to pcm through a low latency AudioTrack,
+     * static track for short alerts and streaming track for long content.
+     */
+    private void playTrackSound(String rawName) {
+        mSoundName.setText(rawName);
+        AudioTrackOutput.getInstance(this).play(rawName, mPlaybackListener);
+    }
+
+    /**
+     * Play res/raw/ sound through MixerTrack, taps which overlap are mixed in software
+     * into one streaming AudioTrack instead of replacing the earlier sound.
+     */
+    private void playMixSound(String rawName) {
+        mSoundName.setText(rawName);
+        long clickMilli = SystemClock.elapsedRealtime();
+        Context appContext = getApplicationContext();
+        mMixExecutor.execute(() -> {
+            if (MixerTrack.getInstance(appContext).play(rawName, 1.0f) != PcmMixer.INVALID_VOICE) {
+                LatencyStats.getInstance().record("mix", LatencyStats.STARTED,
+                        SystemClock.elapsedRealtime() - clickMilli);
+            }
+        });
+    }
+
+    /**
+     * Play file path, url or progressive stream and log time to first byte and start.
+     */
+    private void playNetworkSource(String label, @Nullable String path,
+            @Nullable StreamingDataSource stream, long clickMilli) {
+        PlaybackThread.getInstance().play(new PlaybackThread.Command("network-" + label, label, true, mp -> {
+            mp.setAudioAttributes(new android.media.AudioAttributes.Builder()
                     .setUsage(android.media.AudioAttributes.USAGE_MEDIA)
                     .setContentType(android.media.AudioAttributes.CONTENT_TYPE_MUSIC)
                     .build());
-            mMediaPlayer.setDataSource(netUrl);
-            mMediaPlayer.prepareAsync();        // Use prepareAsync for external sources.
+            if (stream != null) {
+                mp.setDataSource(stream);
+            } else {
+                mp.setDataSource(path);
+            }
+        }).setClickMilli(clickMilli), new PlaybackThread.Listener() {
+            @Override
+            public void onStarted(@NonNull PlaybackThread.Command command) {
+                mPlaybackListener.onStarted(command);
+                // Click to start(), first audio is recorded in LatencyStats once output reports it.
+                long ttfbMilli = (stream != null) ? stream.getDownload().getTimeToFirstByteMilli() : -1;
+                Log.d(TAG, String.format(Locale.US, "Network %s ttfb=%dms started=%dms",
+                        label, ttfbMilli, command.getStartedMilli()));
+            }
 
-        } catch (Exception ex) {
-            Toast.makeText(this, ex.getMessage(), Toast.LENGTH_LONG).show();
-        }
+            @Override
+            public void onError(@NonNull PlaybackThread.Command command, @NonNull Exception ex) {
+                mPlaybackListener.onError(command, ex);
+            }
+        });
     }
 
     /**
@@ -329,56 +596,57 @@ public class MainActivity extends AppCompatActivity {
         // Get ListView object from xml
         mListView = findViewById(R.id.listview);
 
-        // Defined Array values to show in ListView
-        String[] values = new String[]{
-                "alert_air_horn",
-                "alert_alarm_clock",
-                "alert_blop",
-                "alert_censored_beep",
-                "alert_electrical_sweep",
-                "alert_fire_pager",
-                "alert_fog_horn",
-                "alert_metal_gong",
-                "alert_pling",
-                "alert_power_up",
-                "alert_railroad_crossing",
-                "alert_sad_trombone",
-                "alert_school_fire_alarm",
-                "alert_ship_bell",
-                "alert_siren_noise",
-                "alert_store_door_chime",
-                "alert_temple_bell",
-                "alert_tornado_siren",
-                "alert_train_whistle",
-                "alert_ufo_takeoff",
-
-                "animal_bluejay",
-                "animal_cow",
-                "animal_horned_owl",
-                "animal_pterodactyl_screech",
-                "animal_rooster",
-                "animal_turkey",
-
-                "long_news_intro",
-
-                "weather_hailstorm",
-                "weather_rain",
-                "weather_rainstorm",
-                "weather_thunder1",
-                "weather_thunder2",
-                "weather_thunder3",
-                "weather_wind"
-        };
-
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(this,
+        // Filled by showSoundNames() once the catalog is loaded in deferredStartup().
+        mSoundAdapter = new ArrayAdapter<>(this,
                 android.R.layout.simple_list_item_activated_1,
                 // android.R.layout.simple_selectable_list_item,
-                values);
+                new ArrayList<>());
+
+        mListView.setAdapter(mSoundAdapter);
+        mSoundNames = new String[0];
 
-        mListView.setAdapter(adapter);
         mListView.setOnItemClickListener((parent, view, position, id) -> {
             mSound = (String) mListView.getItemAtPosition(position);
             mSoundName.setText(mSound);
         });
     }
+
+    /**
+     * Fill sound selection list, runs on main thread.
+     */
+    private void showSoundNames(String[] soundNames) {
+        if (isDestroyed()) {
+            return;
+        }
+        mSoundNames = soundNames;
+        mSoundAdapter.clear();
+        mSoundAdapter.addAll(soundNames);
+        playIntentSound();
+    }
+
+    @Nullable
+    private static String getIntentSound(@Nullable Intent intent) {
+        // String action = intent.getAction();
+        return (intent != null) ? intent.getStringExtra(NotifyUtil.EXTRA_AUDIO) : null;
+    }
+
+    /**
+     * Select and play the notification intent sound, waits until the list is filled.
+     */
+    private void playIntentSound() {
+        if (TextUtils.isEmpty(mIntentSound) || mSoundNames.length == 0) {
+            return;
+        }
+        String intentSound = mIntentSound;
+        mIntentSound = null;
+        for (int idx = 0; idx < mSoundNames.length; idx++) {
+            if (mSoundNames[idx].equals(intentSound)) {
+                mSound = intentSound;
+                mSoundName.setText(mSound);
+                mListView.setSelection(idx);
+                playRawSound(mSound);
+                break;
+            }
+        }
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.media.SoundPool;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RawRes;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Low latency alert player.
+ * <p>
+ * Short alerts in res/raw/ are decoded once into a SoundPool voice bank, after which
+ * play() is just a handle lookup. Clips with a build time wav copy in assets/pcm/ load
+ * from it, skipping the mp3 decode. Long content (ex: long_news_intro) is too large for
+ * SoundPool and is still streamed with a pooled MediaPlayer, prepared on the engine thread.
+ * <p>
+ * The engine is an application wide singleton, NotifyChannels plays app-sound channels
+ * through it so a notification costs a SoundPool play instead of a new player.
+ * <p>
+ * Usage:
+ * <pre>
+ *     AlertEngine.getInstance(context).preload(names);
+ *     AlertEngine.getInstance(context).play("alert_air_horn");
+ * </pre>
+ */
+@SuppressWarnings({"unused", "UnusedReturnValue"})
+public class AlertEngine {
+    private static final String TAG = "AlertEngine";
+
+    // Number of alerts which can overlap before SoundPool steals the oldest voice.
+    private static final int MAX_STREAMS = 4;
+
+    // Stream id returned by start() for sounds played by the long content player.
+    public static final int LONG_STREAM_ID = -1;
+
+    // Long content player plus one preparing the next long sound.
+    private static final int MAX_LONG_PLAYERS = 2;
+
+    // Sounds too long to keep decoded in SoundPool (~1MB decoded limit per sample).
+    private static final Set<String> LONG_SOUNDS = new HashSet<>(Arrays.asList(
+            "long_news_intro"
+    ));
+
+    private static AlertEngine instance;
+
+    private final Context appContext;
+    private final SoundPool soundPool;
+    private final SparseIntArray resToSoundId = new SparseIntArray();
+    private final SparseIntArray loadedSoundIds = new SparseIntArray();
+    private final Handler longHandler;
+    // Created on and acquired from the engine thread.
+    private MediaPlayerPool longPool;
+    private MediaPlayer longPlayer;
+    private float volume = 1.0f;
+
+    public static synchronized AlertEngine getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new AlertEngine(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AlertEngine(Context appContext) {
+        this.appContext = appContext;
+        AudioAttributes audioAttributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_NOTIFICATION_EVENT)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+        soundPool = new SoundPool.Builder()
+                .setMaxStreams(MAX_STREAMS)
+                .setAudioAttributes(audioAttributes)
+                .build();
+        soundPool.setOnLoadCompleteListener((pool, sampleId, status) -> {
+            synchronized (AlertEngine.this) {
+                if (status == 0) {
+                    loadedSoundIds.put(sampleId, 1);
+                } else {
+                    Log.w(TAG, "SoundPool failed to load sample " + sampleId + " status=" + status);
+                }
+            }
+        });
+
+        // Long content is prepared on its own thread so play() never blocks the caller.
+        HandlerThread longThread = new HandlerThread(TAG);
+        longThread.start();
+        longHandler = new Handler(longThread.getLooper());
+        longHandler.post(() -> longPool = new MediaPlayerPool(MAX_LONG_PLAYERS));
+    }
+
+    /**
+     * Load short alerts into the voice bank. Loading is asynchronous inside SoundPool,
+     * a play() before the load completes falls back to MediaPlayer.
+     */
+    public synchronized void preload(@NonNull String[] names) {
+        for (String name : names) {
+            @RawRes int resId = SoundIds.getId(name);
+            if (resId == SoundIds.INVALID_ID) {
+                Log.w(TAG, "No raw resource for " + name);
+                continue;
+            }
+            preload(resId);
+        }
+    }
+
+    /**
+     * Load a single res/raw/ sound into the voice bank, ignored for long content.
+     */
+    public synchronized void preload(@RawRes int resId) {
+        String name = SoundIds.getNameForId(resId);
+        if (resToSoundId.get(resId, 0) != 0 || name == null || LONG_SOUNDS.contains(name)) {
+            return;
+        }
+        // Prefer the build time wav copy, SoundPool loads it without an mp3 decode.
+        int soundId = 0;
+        try (AssetFileDescriptor afd = PcmDecoder.openPcmAsset(appContext, name)) {
+            if (afd != null) {
+                soundId = soundPool.load(afd, 1);
+            }
+        } catch (IOException ex) {
+            Log.w(TAG, "Failed to load wav " + name + " " + ex.getMessage());
+        }
+        if (soundId == 0) {
+            soundId = soundPool.load(appContext, resId, 1);
+        }
+        resToSoundId.put(resId, soundId);
+    }
+
+    /**
+     * @return true if sound is decoded and ready to play from the voice bank.
+     */
+    public synchronized boolean isPreloaded(@NonNull String name) {
+        return isPreloaded(SoundIds.getId(name));
+    }
+
+    private boolean isPreloaded(@RawRes int resId) {
+        int soundId = resToSoundId.get(resId, 0);
+        return soundId != 0 && loadedSoundIds.get(soundId, 0) != 0;
+    }
+
+    /**
+     * Play sound by res/raw/ name.
+     * @return true if sound was started.
+     */
+    public synchronized boolean play(@NonNull String name) {
+        @RawRes int resId = SoundIds.getId(name);
+        if (resId == SoundIds.INVALID_ID) {
+            Log.w(TAG, "Unknown sound " + name);
+            return false;
+        }
+        return play(resId);
+    }
+
+    /**
+     * Play sound by res/raw/ resource id. Never blocks, sounds not in the voice bank
+     * are prepared on the engine thread.
+     * @return true if sound was started or queued.
+     */
+    public synchronized boolean play(@RawRes int resId) {
+        if (isPreloaded(resId)) {
+            return soundPool.play(resToSoundId.get(resId), volume, volume, 1, 0, 1.0f) != 0;
+        }
+        return longHandler.post(() -> playLong(resId));
+    }
+
+    /**
+     * Start sound and return a handle for stopStream() and setStreamVolume().
+     * @return SoundPool stream id, LONG_STREAM_ID if queued on the long player or 0 on failure.
+     */
+    public synchronized int start(@RawRes int resId, float streamVolume) {
+        if (isPreloaded(resId)) {
+            float vol = volume * streamVolume;
+            return soundPool.play(resToSoundId.get(resId), vol, vol, 1, 0, 1.0f);
+        }
+        return longHandler.post(() -> playLong(resId)) ? LONG_STREAM_ID : 0;
+    }
+
+    public synchronized void stopStream(int streamId) {
+        if (streamId == LONG_STREAM_ID) {
+            releaseLongPlayer();
+        } else if (streamId != 0) {
+            soundPool.stop(streamId);
+        }
+    }
+
+    public synchronized void setStreamVolume(int streamId, float streamVolume) {
+        float vol = volume * streamVolume;
+        if (streamId == LONG_STREAM_ID) {
+            if (longPlayer != null) {
+                longPlayer.setVolume(vol, vol);
+            }
+        } else if (streamId != 0) {
+            soundPool.setVolume(streamId, vol, vol);
+        }
+    }
+
+    /**
+     * Pause active SoundPool voices and return long content player to the pool.
+     */
+    public synchronized void stop() {
+        soundPool.autoPause();
+        releaseLongPlayer();
+    }
+
+    public synchronized void setVolume(float volume) {
+        this.volume = volume;
+        if (longPlayer != null) {
+            longPlayer.setVolume(volume, volume);
+        }
+    }
+
+    public synchronized void release() {
+        releaseLongPlayer();
+        soundPool.release();
+        longHandler.post(() -> longPool.releaseAll());
+        longHandler.getLooper().quitSafely();
+        synchronized (AlertEngine.class) {
+            instance = null;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Runs on engine thread, prepare is done without holding the engine lock.
+     */
+    private void playLong(@RawRes int resId) {
+        MediaPlayerPool pool = longPool;
+        MediaPlayer mediaPlayer = pool.acquire(mp -> {
+            synchronized (AlertEngine.this) {
+                if (longPlayer == mp) {
+                    longPlayer = null;
+                }
+            }
+        }, null);
+        if (mediaPlayer == null) {
+            Log.w(TAG, "No player free for " + resId);
+            return;
+        }
+        try (AssetFileDescriptor afd = appContext.getResources().openRawResourceFd(resId)) {
+            mediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            mediaPlayer.prepare();
+        } catch (Exception ex) {
+            Log.w(TAG, "Failed to prepare player for " + resId + " " + ex.getMessage());
+            pool.release(mediaPlayer);
+            return;
+        }
+        synchronized (this) {
+            releaseLongPlayer();
+            mediaPlayer.setVolume(volume, volume);
+            longPlayer = mediaPlayer;
+            pool.start(longPlayer);
+        }
+    }
+
+    /**
+     * Callers hold the engine lock on any thread, the reset runs on the pool owner thread.
+     */
+    private void releaseLongPlayer() {
+        if (longPlayer == null) {
+            return;
+        }
+        MediaPlayer mediaPlayer = longPlayer;
+        longPlayer = null;
+        if (Looper.myLooper() == longHandler.getLooper()) {
+            longPool.recycle(mediaPlayer);
+            return;
+        }
+        longHandler.post(() -> {
+            synchronized (AlertEngine.this) {
+                // Skip if the pool stole it for the long sound now playing.
+                if (mediaPlayer != longPlayer) {
+                    longPool.recycle(mediaPlayer);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioTimestamp;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTrack;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Low latency AudioTrack output, bypassing MediaPlayer buffering.
+ * <p>
+ * Sounds are decoded through PcmCache. Short alerts (up to STATIC_MAX_BYTES) get a
+ * MODE_STATIC track which is written once and replayed by rewinding, longer sounds
+ * are written to a MODE_STREAM track from a streaming thread. Tracks request
+ * PERFORMANCE_MODE_LOW_LATENCY and size their buffer from the device native frames
+ * per buffer, so the fast mixer path can be granted.
+ * <p>
+ * Timing is reported with PlaybackThread.Command so it can be compared with the
+ * MediaPlayer techniques, dataSource is PCM ready and prepared is track ready.
+ */
+@SuppressWarnings("unused")
+public class AudioTrackOutput {
+    private static final String TAG = "AudioTrackOutput";
+
+    // Largest sound kept in a static track, static tracks live in shared memory.
+    public static final int STATIC_MAX_BYTES = 512 * 1024;
+    private static final int MAX_STATIC_TRACKS = 4;
+    // Stream buffer is this many device bursts.
+    private static final int STREAM_BURSTS = 4;
+    private static final int DEFAULT_FRAMES_PER_BUFFER = 256;
+
+    private static AudioTrackOutput instance;
+
+    private final Context appContext;
+    private final Handler trackHandler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final int framesPerBuffer;
+    private final AudioAttributes audioAttributes;
+
+    // Static tracks by sound name, least recently played first. Only used on track thread.
+    private final LinkedHashMap<String, AudioTrack> staticTracks = new LinkedHashMap<>(8, 0.75f, true);
+    private AudioTrack currentStatic;
+    private volatile Thread streamThread;
+    private AudioTrack streamTrack;
+
+    public static synchronized AudioTrackOutput getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new AudioTrackOutput(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AudioTrackOutput(Context appContext) {
+        this.appContext = appContext;
+        framesPerBuffer = getFramesPerBuffer(appContext);
+        audioAttributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_NOTIFICATION_EVENT)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+        HandlerThread thread = new HandlerThread(TAG);
+        thread.start();
+        trackHandler = new Handler(thread.getLooper());
+    }
+
+    /**
+     * Play res/raw/ sound, replaces any sound started by an earlier call.
+     */
+    public void play(@NonNull String name, @NonNull PlaybackThread.Listener listener) {
+        PlaybackThread.Command command = new PlaybackThread.Command("track", name, false, mp -> { });
+        command.postedMilli = SystemClock.elapsedRealtime();
+        trackHandler.post(() -> run(command, listener));
+    }
+
+    public void stop() {
+        trackHandler.post(this::stopCurrent);
+    }
+
+    /**
+     * Release all tracks.
+     */
+    public void release() {
+        trackHandler.post(() -> {
+            stopCurrent();
+            for (AudioTrack track : staticTracks.values()) {
+                track.release();
+            }
+            staticTracks.clear();
+            trackHandler.getLooper().quitSafely();
+        });
+        synchronized (AudioTrackOutput.class) {
+            instance = null;
+        }
+    }
+
+    public int getFramesPerBuffer() {
+        return framesPerBuffer;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static int getFramesPerBuffer(Context context) {
+        AudioManager audioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
+        String frames = (audioManager != null)
+                ? audioManager.getProperty(AudioManager.PROPERTY_OUTPUT_FRAMES_PER_BUFFER) : null;
+        if (frames != null) {
+            try {
+                return Integer.parseInt(frames);
+            } catch (NumberFormatException ignore) {
+            }
+        }
+        return DEFAULT_FRAMES_PER_BUFFER;
+    }
+
+    private void run(PlaybackThread.Command command, PlaybackThread.Listener listener) {
+        command.runMilli = SystemClock.elapsedRealtime();
+        stopCurrent();
+        try {
+            PcmSound sound = PcmCache.getInstance(appContext).get(command.name);
+            if (sound == null) {
+                throw new IOException("No pcm for " + command.name);
+            }
+            command.dataSourceMilli = SystemClock.elapsedRealtime();
+
+            AudioTrack track;
+            if (sound.getByteSize() <= STATIC_MAX_BYTES) {
+                track = getStaticTrack(sound);
+                command.preparedMilli = SystemClock.elapsedRealtime();
+                track.play();
+                currentStatic = track;
+            } else {
+                track = createTrack(sound, AudioTrack.MODE_STREAM,
+                        Math.max(framesPerBuffer * STREAM_BURSTS * frameBytes(sound),
+                                AudioTrack.getMinBufferSize(sound.sampleRate,
+                                        channelMask(sound), AudioFormat.ENCODING_PCM_16BIT)));
+                command.preparedMilli = SystemClock.elapsedRealtime();
+                startStream(track, sound);
+            }
+            command.startedMilli = SystemClock.elapsedRealtime();
+            Log.d(TAG, command + (track.getPerformanceMode() == AudioTrack.PERFORMANCE_MODE_LOW_LATENCY
+                    ? " low-latency" : " normal") + " frames/buffer=" + framesPerBuffer);
+            LatencyStats.getInstance().record(command);
+            AudioTrack startedTrack = track;
+            trackHandler.postDelayed(() -> pollFirstAudio(command, startedTrack, sound.sampleRate,
+                    PlaybackThread.FIRST_AUDIO_POLLS), PlaybackThread.FIRST_AUDIO_POLL_MILLI);
+            mainHandler.post(() -> listener.onStarted(command));
+        } catch (Exception ex) {
+            mainHandler.post(() -> listener.onError(command, ex));
+        }
+    }
+
+    /**
+     * Wait for the track to report a presented frame, AudioTimestamp pairs a frame position
+     * with the time it was presented which gives the time of frame 0.
+     */
+    private void pollFirstAudio(PlaybackThread.Command command, AudioTrack track, int sampleRate, int polls) {
+        if (polls <= 0 || (track != currentStatic && track != streamTrack)) {
+            return;     // Stopped, replaced or no timestamp from this output.
+        }
+        AudioTimestamp timestamp = new AudioTimestamp();
+        try {
+            if (track.getTimestamp(timestamp) && timestamp.framePosition > 0) {
+                command.setFirstAudioNano(timestamp.nanoTime - timestamp.framePosition * 1000000000L / sampleRate);
+                LatencyStats.getInstance().record(command.technique, LatencyStats.FIRST_AUDIO, command.getFirstAudioMilli());
+                return;
+            }
+        } catch (IllegalStateException ignore) {
+            return;     // Released.
+        }
+        trackHandler.postDelayed(() -> pollFirstAudio(command, track, sampleRate, polls - 1),
+                PlaybackThread.FIRST_AUDIO_POLL_MILLI);
+    }
+
+    /**
+     * Get or create static track holding the whole sound, rewound for replay.
+     */
+    private AudioTrack getStaticTrack(PcmSound sound) throws IOException {
+        AudioTrack track = staticTracks.get(sound.name);
+        if (track != null) {
+            track.stop();
+            track.reloadStaticData();
+            return track;
+        }
+
+        track = createTrack(sound, AudioTrack.MODE_STATIC, sound.getByteSize());
+        int written = track.write(sound.samples, 0, sound.samples.length);
+        if (written != sound.samples.length) {
+            track.release();
+            throw new IOException("Static write failed " + written);
+        }
+        staticTracks.put(sound.name, track);
+        if (staticTracks.size() > MAX_STATIC_TRACKS) {
+            Iterator<Map.Entry<String, AudioTrack>> it = staticTracks.entrySet().iterator();
+            AudioTrack eldest = it.next().getValue();
+            it.remove();
+            if (eldest == currentStatic) {
+                currentStatic = null;
+            }
+            eldest.release();
+        }
+        return track;
+    }
+
+    private AudioTrack createTrack(PcmSound sound, int mode, int bufferBytes) {
+        return new AudioTrack.Builder()
+                .setAudioAttributes(audioAttributes)
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                        .setSampleRate(sound.sampleRate)
+                        .setChannelMask(channelMask(sound))
+                        .build())
+                .setBufferSizeInBytes(bufferBytes)
+                .setTransferMode(mode)
+                .setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY)
+                .build();
+    }
+
+    /**
+     * Prime the stream with one buffer, then feed the rest from the streaming thread.
+     */
+    private void startStream(AudioTrack track, PcmSound sound) {
+        int chunk = framesPerBuffer * sound.channelCount;
+        int primed = track.write(sound.samples, 0, Math.min(chunk * STREAM_BURSTS, sound.samples.length),
+                AudioTrack.WRITE_NON_BLOCKING);
+        track.play();
+
+        Thread thread = new Thread(() -> {
+            int offset = Math.max(0, primed);
+            while (offset < sound.samples.length && streamThread == Thread.currentThread()) {
+                int written = track.write(sound.samples, offset, Math.min(chunk, sound.samples.length - offset));
+                if (written < 0) {
+                    Log.w(TAG, "AudioTrack write failed " + written);
+                    break;
+                }
+                offset += written;
+            }
+            // Let the buffered tail drain before releasing.
+            int frames = offset / sound.channelCount;
+            long burstMilli = Math.max(1, framesPerBuffer * 1000L / sound.sampleRate);
+            try {
+                while (streamThread == Thread.currentThread() && track.getPlaybackHeadPosition() < frames) {
+                    Thread.sleep(burstMilli);
+                }
+            } catch (InterruptedException ignore) {
+            }
+            track.release();
+        }, TAG + "-stream");
+        streamTrack = track;
+        streamThread = thread;
+        thread.start();
+    }
+
+    private void stopCurrent() {
+        if (currentStatic != null) {
+            currentStatic.stop();
+            currentStatic = null;
+        }
+        Thread thread = streamThread;
+        if (thread != null) {
+            streamThread = null;
+            // Pause returns a blocked write, streaming thread then releases the track.
+            try {
+                streamTrack.pause();
+                streamTrack.flush();
+            } catch (IllegalStateException ignore) {
+                // Already drained and released.
+            }
+            streamTrack = null;
+            thread.interrupt();
+        }
+    }
+
+    private static int channelMask(PcmSound sound) {
+        return (sound.channelCount == 1) ? AudioFormat.CHANNEL_OUT_MONO : AudioFormat.CHANNEL_OUT_STEREO;
+    }
+
+    private static int frameBytes(PcmSound sound) {
+        return sound.channelCount * 2;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Fixed bucket latency histogram in milliseconds.
+ * <p>
+ * Bucket edges grow roughly 25% per step, so percentiles are accurate to a bucket
+ * at any scale while recording stays allocation free. Percentiles report the upper
+ * edge of the bucket holding the requested rank.
+ * Platform independent so it can be shared with JVM tools.
+ */
+@SuppressWarnings("unused")
+public final class LatencyHistogram {
+
+    // Upper edge (inclusive) of each bucket, last bucket holds everything larger.
+    private static final int[] EDGES = {
+            1, 2, 3, 4, 5, 6, 8, 10, 12, 15, 20, 25, 30, 40, 50, 60, 80, 100, 120, 150,
+            200, 250, 300, 400, 500, 600, 800, 1000, 1200, 1500, 2000, 2500, 3000, 4000,
+            5000, 6000, 8000, 10000, Integer.MAX_VALUE
+    };
+
+    private final int[] counts = new int[EDGES.length];
+    private int count;
+    private long sumMilli;
+    private long minMilli = Long.MAX_VALUE;
+    private long maxMilli;
+
+    public void record(long milli) {
+        if (milli < 0) {
+            return;
+        }
+        int idx = 0;
+        while (milli > EDGES[idx]) {
+            idx++;
+        }
+        counts[idx]++;
+        count++;
+        sumMilli += milli;
+        minMilli = Math.min(minMilli, milli);
+        maxMilli = Math.max(maxMilli, milli);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMeanMilli() {
+        return (count == 0) ? 0 : sumMilli / count;
+    }
+
+    public long getMinMilli() {
+        return (count == 0) ? 0 : minMilli;
+    }
+
+    public long getMaxMilli() {
+        return maxMilli;
+    }
+
+    /**
+     * @param percent 0 to 100.
+     * @return upper edge of bucket holding the percentile, capped at the max recorded value.
+     */
+    public long getPercentileMilli(double percent) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percent / 100.0));
+        long seen = 0;
+        for (int idx = 0; idx < counts.length; idx++) {
+            seen += counts[idx];
+            if (seen >= rank) {
+                return Math.min(EDGES[idx], maxMilli);
+            }
+        }
+        return maxMilli;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sumMilli = 0;
+        minMilli = Long.MAX_VALUE;
+        maxMilli = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "n=%d p50=%d p90=%d p99=%d max=%d",
+                count, getPercentileMilli(50), getPercentileMilli(90), getPercentileMilli(99), maxMilli);
+    }
+}
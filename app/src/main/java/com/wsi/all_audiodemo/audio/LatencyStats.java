@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tap to sound latency histograms per play technique and stage.
+ * <p>
+ * Stages measured from the click:
+ * <pre>
+ *   resolve     click to command posted (cache lookup, network prefix, notify submit)
+ *   queue       posted to run on playback thread
+ *   setup       data source set
+ *   prepare     player or track prepared
+ *   start       start() returned
+ *   started     click to start() returned
+ *   firstAudio  click to first frame presented, from AudioTimestamp / MediaTimestamp
+ * </pre>
+ * View with toString() or dump to logcat with log().
+ */
+@SuppressWarnings("unused")
+public class LatencyStats {
+    private static final String TAG = "LatencyStats";
+
+    public static final String RESOLVE = "resolve";
+    public static final String QUEUE = "queue";
+    public static final String SETUP = "setup";
+    public static final String PREPARE = "prepare";
+    public static final String START = "start";
+    public static final String STARTED = "started";
+    public static final String FIRST_AUDIO = "firstAudio";
+
+    private static LatencyStats instance;
+
+    // Technique to stage to histogram, in first recorded order.
+    private final Map<String, Map<String, LatencyHistogram>> techniques = new LinkedHashMap<>();
+
+    public static synchronized LatencyStats getInstance() {
+        if (instance == null) {
+            instance = new LatencyStats();
+        }
+        return instance;
+    }
+
+    private LatencyStats() {
+    }
+
+    public synchronized void record(@NonNull String technique, @NonNull String stage, long milli) {
+        Map<String, LatencyHistogram> stages = techniques.get(technique);
+        if (stages == null) {
+            stages = new LinkedHashMap<>();
+            techniques.put(technique, stages);
+        }
+        LatencyHistogram histogram = stages.get(stage);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            stages.put(stage, histogram);
+        }
+        histogram.record(milli);
+    }
+
+    /**
+     * Record stages of a started command.
+     */
+    public synchronized void record(@NonNull PlaybackThread.Command command) {
+        String technique = command.technique;
+        record(technique, RESOLVE, command.getResolveMilli());
+        record(technique, QUEUE, command.getQueueMilli());
+        record(technique, SETUP, command.getSetupMilli());
+        record(technique, PREPARE, command.getPrepareMilli());
+        record(technique, START, command.getStartMilli());
+        record(technique, STARTED, command.getStartedMilli());
+    }
+
+    public synchronized void reset() {
+        techniques.clear();
+    }
+
+    /**
+     * Dump histograms to logcat, one line per technique and stage for easy grep.
+     */
+    public synchronized void log() {
+        for (Map.Entry<String, Map<String, LatencyHistogram>> technique : techniques.entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> stage : technique.getValue().entrySet()) {
+                Log.i(TAG, String.format(Locale.US, "%s %s %s",
+                        technique.getKey(), stage.getKey(), stage.getValue()));
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        if (techniques.isEmpty()) {
+            return "No samples, play some sounds";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-11s %4s %5s %5s %5s %5s%n", "ms", "n", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, Map<String, LatencyHistogram>> technique : techniques.entrySet()) {
+            sb.append(technique.getKey()).append('\n');
+            for (Map.Entry<String, LatencyHistogram> stage : technique.getValue().entrySet()) {
+                LatencyHistogram histogram = stage.getValue();
+                sb.append(String.format(Locale.US, " %-10s %4d %5d %5d %5d %5d%n", stage.getKey(),
+                        histogram.getCount(), histogram.getPercentileMilli(50), histogram.getPercentileMilli(90),
+                        histogram.getPercentileMilli(99), histogram.getMaxMilli()));
+            }
+        }
+        return sb.toString();
+    }
+}
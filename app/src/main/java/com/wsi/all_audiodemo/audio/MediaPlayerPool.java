@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.media.MediaPlayer;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded pool of MediaPlayer instances.
+ * <p>
+ * Every MediaPlayer holds a native decoder in the media server, so instead of
+ * creating one per tap the players are reset and reused. Each owning thread creates
+ * its own pool and calls acquire(), recycle() and release() only on that thread, so
+ * players are created on the owner's looper, deliver their callbacks there and are
+ * never reset by another thread.
+ * <p>
+ * At most maxLivePlayers native players exist. If all are busy the oldest player started
+ * with start() is stopped and recycled, a player still preparing is never stolen. With
+ * nothing to steal acquire() returns null and the caller fails its request.
+ * <p>
+ * Players handed out by acquire() are in the Idle state. The pool owns the completion
+ * and error listeners: on completion the player is reset and returned to the pool,
+ * on error it is released. The caller's completion listener is also called, on the
+ * owner thread, if its player is stolen, after which the caller must drop its reference.
+ */
+@SuppressWarnings("unused")
+public class MediaPlayerPool {
+    private static final String TAG = "MediaPlayerPool";
+
+    private final int maxLivePlayers;
+    private final Looper ownerLooper;
+    private final ArrayDeque<MediaPlayer> idlePlayers = new ArrayDeque<>();
+    // Active players in acquire order, mapped to owner's completion listener.
+    private final LinkedHashMap<MediaPlayer, MediaPlayer.OnCompletionListener> activePlayers = new LinkedHashMap<>();
+    // Active players which have been started, only these can be stolen.
+    private final Set<MediaPlayer> startedPlayers = new HashSet<>();
+    private int livePlayers;
+
+    /**
+     * Create pool on its owner thread, which must have a looper.
+     * @param maxLivePlayers cap on native players kept (idle + active).
+     */
+    public MediaPlayerPool(int maxLivePlayers) {
+        this.maxLivePlayers = maxLivePlayers;
+        ownerLooper = Looper.myLooper();
+        if (ownerLooper == null) {
+            throw new IllegalStateException("MediaPlayerPool needs an owner thread with a looper");
+        }
+    }
+
+    /**
+     * Get an idle player, call on the owner thread. Caller sets data source and prepare
+     * listener, the pool recycles the player when playback completes.
+     *
+     * @param completionListener optional listener called when playback completes or player is stolen.
+     * @param errorListener optional listener called before the player is released on error.
+     * @return null if all maxLivePlayers are still preparing.
+     */
+    @Nullable
+    public synchronized MediaPlayer acquire(
+            @Nullable MediaPlayer.OnCompletionListener completionListener,
+            @Nullable MediaPlayer.OnErrorListener errorListener) {
+        checkOwner("acquire");
+        MediaPlayer mediaPlayer = idlePlayers.poll();
+        if (mediaPlayer == null) {
+            if (livePlayers < maxLivePlayers) {
+                mediaPlayer = new MediaPlayer();
+                livePlayers++;
+            } else {
+                mediaPlayer = stealOldestStarted();
+                if (mediaPlayer == null) {
+                    return null;
+                }
+            }
+        }
+
+        activePlayers.put(mediaPlayer, completionListener);
+        mediaPlayer.setOnCompletionListener(mp -> {
+            if (completionListener != null) {
+                completionListener.onCompletion(mp);
+            }
+            recycle(mp);
+        });
+        mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+            if (errorListener != null) {
+                errorListener.onError(mp, what, extra);
+            }
+            release(mp);
+            return true;
+        });
+        return mediaPlayer;
+    }
+
+    /**
+     * Start a prepared player, from then on it may be stolen by acquire().
+     */
+    public synchronized void start(@NonNull MediaPlayer mediaPlayer) {
+        checkOwner("start");
+        mediaPlayer.start();
+        if (activePlayers.containsKey(mediaPlayer)) {
+            startedPlayers.add(mediaPlayer);
+        }
+    }
+
+    /**
+     * Return player to pool for reuse.
+     */
+    public synchronized void recycle(@NonNull MediaPlayer mediaPlayer) {
+        checkOwner("recycle");
+        if (!activePlayers.containsKey(mediaPlayer)) {
+            return;     // Already recycled or stolen.
+        }
+        activePlayers.remove(mediaPlayer);
+        startedPlayers.remove(mediaPlayer);
+        mediaPlayer.reset();
+        mediaPlayer.setOnPreparedListener(null);
+        idlePlayers.add(mediaPlayer);
+    }
+
+    /**
+     * Release player native resources, used when player is in error state.
+     */
+    public synchronized void release(@NonNull MediaPlayer mediaPlayer) {
+        checkOwner("release");
+        if (activePlayers.containsKey(mediaPlayer) || idlePlayers.contains(mediaPlayer)) {
+            activePlayers.remove(mediaPlayer);
+            startedPlayers.remove(mediaPlayer);
+            idlePlayers.remove(mediaPlayer);
+            livePlayers--;
+        }
+        mediaPlayer.release();
+    }
+
+    /**
+     * Stop all playback and release every native player.
+     */
+    public synchronized void releaseAll() {
+        checkOwner("releaseAll");
+        for (MediaPlayer mediaPlayer : activePlayers.keySet()) {
+            mediaPlayer.release();
+        }
+        for (MediaPlayer mediaPlayer : idlePlayers) {
+            mediaPlayer.release();
+        }
+        activePlayers.clear();
+        startedPlayers.clear();
+        idlePlayers.clear();
+        livePlayers = 0;
+    }
+
+    public synchronized int getLivePlayers() {
+        return livePlayers;
+    }
+
+    public synchronized int getActivePlayers() {
+        return activePlayers.size();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void checkOwner(String method) {
+        if (Looper.myLooper() != ownerLooper) {
+            throw new IllegalStateException(method + "() called off the pool owner thread");
+        }
+    }
+
+    /**
+     * Runs on owner thread, so the stolen owner's listener is called on its own thread.
+     * @return oldest started player reset to Idle, or null if every active player is preparing.
+     */
+    @Nullable
+    private MediaPlayer stealOldestStarted() {
+        Iterator<Map.Entry<MediaPlayer, MediaPlayer.OnCompletionListener>> it = activePlayers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<MediaPlayer, MediaPlayer.OnCompletionListener> entry = it.next();
+            MediaPlayer mediaPlayer = entry.getKey();
+            if (startedPlayers.remove(mediaPlayer)) {
+                it.remove();
+                Log.d(TAG, "All players busy, recycling oldest");
+                mediaPlayer.reset();
+                if (entry.getValue() != null) {
+                    entry.getValue().onCompletion(mediaPlayer);
+                }
+                return mediaPlayer;
+            }
+        }
+        Log.d(TAG, "All players preparing, none available");
+        return null;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTrack;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Single streaming AudioTrack fed by PcmMixer.
+ * <p>
+ * Overlapping alerts are mixed in software on the mixer thread and written to one
+ * output track, so N alerts cost one track instead of N decoders and tracks.
+ * Sounds come decoded from PcmCache. The track is paused once the mixer has been
+ * silent for IDLE_MILLI and resumed by the next play().
+ */
+@SuppressWarnings("unused")
+public class MixerTrack {
+    private static final String TAG = "MixerTrack";
+
+    private static final int DEFAULT_SAMPLE_RATE = 48000;
+    private static final int CHANNELS = 2;
+    private static final int MAX_VOICES = 6;
+    private static final int MIX_FRAMES = 512;
+    private static final int IDLE_MILLI = 500;
+
+    private static MixerTrack instance;
+
+    private final Context appContext;
+    private final PcmMixer mixer;
+    private final short[] mixBuffer;
+    private final Object lock = new Object();
+    private Thread mixThread;
+    private volatile boolean running;
+
+    public static synchronized MixerTrack getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new MixerTrack(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private MixerTrack(Context appContext) {
+        this.appContext = appContext;
+        int sampleRate = DEFAULT_SAMPLE_RATE;
+        AudioManager audioManager = (AudioManager) appContext.getSystemService(Context.AUDIO_SERVICE);
+        String rate = (audioManager != null) ? audioManager.getProperty(AudioManager.PROPERTY_OUTPUT_SAMPLE_RATE) : null;
+        if (rate != null) {
+            try {
+                sampleRate = Integer.parseInt(rate);
+            } catch (NumberFormatException ignore) {
+            }
+        }
+        mixer = new PcmMixer(sampleRate, CHANNELS, MAX_VOICES, MIX_FRAMES);
+        mixBuffer = new short[MIX_FRAMES * CHANNELS];
+    }
+
+    /**
+     * Play res/raw/ sound, decoding it on the calling thread if it is not in PcmCache.
+     * @return voice id or PcmMixer.INVALID_VOICE.
+     */
+    public int play(@NonNull String name, float gain) {
+        PcmSound sound = PcmCache.getInstance(appContext).get(name);
+        if (sound == null) {
+            Log.w(TAG, "No pcm for " + name);
+            return PcmMixer.INVALID_VOICE;
+        }
+        return play(sound, gain);
+    }
+
+    public int play(@NonNull PcmSound sound, float gain) {
+        int voiceId = mixer.play(sound, gain);
+        synchronized (lock) {
+            if (mixThread == null) {
+                running = true;
+                mixThread = new Thread(this::mixLoop, TAG);
+                mixThread.setPriority(Thread.MAX_PRIORITY);
+                mixThread.start();
+            }
+            lock.notifyAll();
+        }
+        return voiceId;
+    }
+
+    public void stop(int voiceId) {
+        mixer.stop(voiceId);
+    }
+
+    public void stopAll() {
+        mixer.stopAll();
+    }
+
+    public void setGain(int voiceId, float gain) {
+        mixer.setGain(voiceId, gain);
+    }
+
+    @NonNull
+    public PcmMixer getMixer() {
+        return mixer;
+    }
+
+    /**
+     * Stop mixer thread and release track.
+     */
+    public void release() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        synchronized (MixerTrack.class) {
+            instance = null;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private AudioTrack createTrack() {
+        int sampleRate = mixer.getOutSampleRate();
+        int minBytes = AudioTrack.getMinBufferSize(sampleRate,
+                AudioFormat.CHANNEL_OUT_STEREO, AudioFormat.ENCODING_PCM_16BIT);
+        return new AudioTrack.Builder()
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_NOTIFICATION_EVENT)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                        .build())
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                        .setSampleRate(sampleRate)
+                        .setChannelMask(AudioFormat.CHANNEL_OUT_STEREO)
+                        .build())
+                .setBufferSizeInBytes(Math.max(minBytes, mixBuffer.length * 2 * 2))
+                .setTransferMode(AudioTrack.MODE_STREAM)
+                .build();
+    }
+
+    /**
+     * Runs on mixer thread, blocking write() paces the loop to the output rate.
+     */
+    private void mixLoop() {
+        AudioTrack track = createTrack();
+        int idleLimitFrames = mixer.getOutSampleRate() * IDLE_MILLI / 1000;
+        int idleFrames = 0;
+        try {
+            while (running) {
+                if (idleFrames >= idleLimitFrames) {
+                    // Buffered tail has played out, park until next play().
+                    track.pause();
+                    synchronized (lock) {
+                        while (running && mixer.getActiveVoices() == 0) {
+                            lock.wait();
+                        }
+                    }
+                    idleFrames = 0;
+                    continue;
+                }
+                if (track.getPlayState() != AudioTrack.PLAYSTATE_PLAYING) {
+                    track.play();
+                }
+                int voices = mixer.mix(mixBuffer, MIX_FRAMES);
+                idleFrames = (voices == 0) ? idleFrames + MIX_FRAMES : 0;
+                int written = track.write(mixBuffer, 0, mixBuffer.length);
+                if (written < 0) {
+                    Log.w(TAG, "AudioTrack write failed " + written);
+                    break;
+                }
+            }
+        } catch (InterruptedException ignore) {
+        } finally {
+            track.release();
+            synchronized (lock) {
+                mixThread = null;
+            }
+            Log.d(TAG, mixer.toString());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * MPEG audio (mp3) frame header.
+ * <p>
+ * Decodes the 32-bit header in front of every frame: version, layer, bitrate,
+ * sample rate, padding and channel mode, from which the frame length follows.
+ * frameLength(int) is an allocation free fast path used to walk frames.
+ * Platform independent so it can be shared with build tasks and JVM benchmarks.
+ */
+@SuppressWarnings("unused")
+public final class Mp3FrameHeader {
+    public static final int MPEG1 = 1;
+    public static final int MPEG2 = 2;
+    public static final int MPEG25 = 25;
+
+    public static final int HEADER_SIZE = 4;
+    private static final int ID3_HEADER_SIZE = 10;
+
+    // Bitrate in kbps by [row][index], rows: V1 L1, V1 L2, V1 L3, V2 L1, V2 L2/L3.
+    private static final int[][] BITRATES = {
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+    };
+    // Sample rate by [version bits][index], version bits 00=2.5, 10=2, 11=1.
+    private static final int[][] SAMPLE_RATES = {
+            {11025, 12000, 8000},
+            {0, 0, 0},
+            {22050, 24000, 16000},
+            {44100, 48000, 32000},
+    };
+
+    public final int version;
+    public final int layer;
+    public final int bitrateKbps;
+    public final int sampleRate;
+    public final boolean padding;
+    public final boolean crc;
+    public final int channelCount;
+    public final int samplesPerFrame;
+    public final int frameLength;
+
+    private Mp3FrameHeader(int version, int layer, int bitrateKbps, int sampleRate, boolean padding,
+                           boolean crc, int channelCount, int samplesPerFrame, int frameLength) {
+        this.version = version;
+        this.layer = layer;
+        this.bitrateKbps = bitrateKbps;
+        this.sampleRate = sampleRate;
+        this.padding = padding;
+        this.crc = crc;
+        this.channelCount = channelCount;
+        this.samplesPerFrame = samplesPerFrame;
+        this.frameLength = frameLength;
+    }
+
+    /**
+     * @return decoded header or null if not a valid frame header.
+     */
+    public static Mp3FrameHeader parse(int header) {
+        int frameLength = frameLength(header);
+        if (frameLength <= 0) {
+            return null;
+        }
+        int versionBits = (header >>> 19) & 3;
+        int layer = 4 - ((header >>> 17) & 3);
+        return new Mp3FrameHeader(
+                (versionBits == 3) ? MPEG1 : (versionBits == 2) ? MPEG2 : MPEG25,
+                layer,
+                bitrateKbps(header),
+                SAMPLE_RATES[versionBits][(header >>> 10) & 3],
+                ((header >>> 9) & 1) != 0,
+                ((header >>> 16) & 1) == 0,
+                (((header >>> 6) & 3) == 3) ? 1 : 2,
+                samplesPerFrame(header),
+                frameLength);
+    }
+
+    /**
+     * @return frame length in bytes including header, or -1 if not a valid frame header.
+     * Free format (bitrate index 0) is not supported.
+     */
+    public static int frameLength(int header) {
+        if ((header & 0xFFE00000) != 0xFFE00000) {
+            return -1;
+        }
+        int versionBits = (header >>> 19) & 3;
+        int layerBits = (header >>> 17) & 3;
+        int bitrateIdx = (header >>> 12) & 0xF;
+        int rateIdx = (header >>> 10) & 3;
+        if (versionBits == 1 || layerBits == 0 || bitrateIdx == 0 || bitrateIdx == 15 || rateIdx == 3) {
+            return -1;
+        }
+        int bitrate = bitrateKbps(header) * 1000;
+        int sampleRate = SAMPLE_RATES[versionBits][rateIdx];
+        int padding = (header >>> 9) & 1;
+        if (layerBits == 3) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        // Layer 2 and 3, bytes per frame = samplesPerFrame / 8 * bitrate / sampleRate.
+        return samplesPerFrame(header) / 8 * bitrate / sampleRate + padding;
+    }
+
+    /**
+     * @return big endian int at offset.
+     */
+    public static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * @return offset past an ID3v2 tag at offset, or offset if there is none.
+     */
+    public static int skipId3v2(byte[] data, int offset) {
+        if (offset + ID3_HEADER_SIZE <= data.length
+                && data[offset] == 'I' && data[offset + 1] == 'D' && data[offset + 2] == '3') {
+            // Tag size is 4 x 7-bit sync safe bytes, excluding header and optional footer.
+            int size = ((data[offset + 6] & 0x7F) << 21) | ((data[offset + 7] & 0x7F) << 14)
+                    | ((data[offset + 8] & 0x7F) << 7) | (data[offset + 9] & 0x7F);
+            boolean footer = (data[offset + 5] & 0x10) != 0;
+            return offset + ID3_HEADER_SIZE + size + (footer ? ID3_HEADER_SIZE : 0);
+        }
+        return offset;
+    }
+
+    /**
+     * Find first frame at or after offset whose successor also starts with a valid header,
+     * which rejects false sync words in tag or payload bytes.
+     *
+     * @return offset of frame or -1 if none found before end.
+     */
+    public static int findFrame(byte[] data, int offset, int end) {
+        for (int pos = offset; pos + HEADER_SIZE <= end; pos++) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                continue;
+            }
+            int length = frameLength(readInt(data, pos));
+            if (length > 0) {
+                int next = pos + length;
+                if (next + HEADER_SIZE > end || frameLength(readInt(data, next)) > 0) {
+                    return pos;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ByteBuffer version of skipId3v2(byte[], int) for mapped files, absolute positions.
+     */
+    public static int skipId3v2(ByteBuffer data, int offset) {
+        if (offset + ID3_HEADER_SIZE <= data.limit()
+                && data.get(offset) == 'I' && data.get(offset + 1) == 'D' && data.get(offset + 2) == '3') {
+            int size = ((data.get(offset + 6) & 0x7F) << 21) | ((data.get(offset + 7) & 0x7F) << 14)
+                    | ((data.get(offset + 8) & 0x7F) << 7) | (data.get(offset + 9) & 0x7F);
+            boolean footer = (data.get(offset + 5) & 0x10) != 0;
+            return offset + ID3_HEADER_SIZE + size + (footer ? ID3_HEADER_SIZE : 0);
+        }
+        return offset;
+    }
+
+    /**
+     * ByteBuffer version of findFrame(byte[], int, int), buffer must be big endian.
+     */
+    public static int findFrame(ByteBuffer data, int offset, int end) {
+        for (int pos = offset; pos + HEADER_SIZE <= end; pos++) {
+            if ((data.get(pos) & 0xFF) != 0xFF) {
+                continue;
+            }
+            int length = frameLength(data.getInt(pos));
+            if (length > 0) {
+                int next = pos + length;
+                if (next + HEADER_SIZE > end || frameLength(data.getInt(next)) > 0) {
+                    return pos;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return bytes of layer 3 side information following the header (and crc).
+     */
+    public int getSideInfoSize() {
+        if (version == MPEG1) {
+            return (channelCount == 1) ? 17 : 32;
+        }
+        return (channelCount == 1) ? 9 : 17;
+    }
+
+    public long getFrameDurationMicro() {
+        return samplesPerFrame * 1000000L / sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "MPEG%s L%d %dkbps %dHz x%d len=%d",
+                (version == MPEG25) ? "2.5" : String.valueOf(version), layer, bitrateKbps,
+                sampleRate, channelCount, frameLength);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static int bitrateKbps(int header) {
+        int versionBits = (header >>> 19) & 3;
+        int layer = 4 - ((header >>> 17) & 3);
+        int row = (versionBits == 3) ? (layer - 1) : ((layer == 1) ? 3 : 4);
+        return BITRATES[row][(header >>> 12) & 0xF];
+    }
+
+    private static int samplesPerFrame(int header) {
+        int versionBits = (header >>> 19) & 3;
+        int layer = 4 - ((header >>> 17) & 3);
+        if (layer == 1) {
+            return 384;
+        }
+        return (layer == 3 && versionBits != 3) ? 576 : 1152;
+    }
+}
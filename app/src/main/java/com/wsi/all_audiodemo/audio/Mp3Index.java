@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+
+/**
+ * Frame index of an mp3 file: duration, bitrate, encoder delay/padding and a seek table.
+ * <p>
+ * Built in one sequential pass over a memory mapped file or byte buffer, so duration and
+ * seek positions are known without preparing a MediaPlayer. The first frame is checked
+ * for a Xing/Info or VBRI tag (not audio, excluded from the frame count). The LAME
+ * extension of a Xing/Info tag supplies the encoder delay and padding for gapless duration,
+ * a VBRI tag supplies only the delay.
+ * <p>
+ * The seek table holds the offset of every framesPerEntry'th audio frame. Indexes are
+ * small and serialize with write()/read(), so they can be cached next to the sound.
+ * Platform independent for build tasks and JVM benchmarks.
+ * <pre>
+ *     Mp3Index index = Mp3Index.scan(channel, afd.getStartOffset(), afd.getLength());
+ *     long offset = index.getSeekOffset(timeMicro);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class Mp3Index {
+    public static final int MAGIC = 0x4D494458;   // MIDX
+    public static final int VERSION = 1;
+
+    // One entry per 16 frames, ~0.4 seconds at 44.1KHz.
+    public static final int DEFAULT_FRAMES_PER_ENTRY = 16;
+
+    private static final int XING = 0x58696E67;   // "Xing"
+    private static final int INFO = 0x496E666F;   // "Info"
+    private static final int VBRI = 0x56425249;   // "VBRI"
+    private static final int XING_TOC_SIZE = 100;
+    private static final int VBRI_OFFSET = 32;    // From end of header.
+    private static final int VBRI_DELAY_OFFSET = 6; // From VBRI tag, after 2 byte version.
+    private static final int LAME_DELAY_OFFSET = 21;
+
+    public final int sampleRate;
+    public final int channelCount;
+    public final int samplesPerFrame;
+    public final int frameCount;
+    public final int firstFrameOffset;
+    public final int audioBytes;
+    public final int encoderDelay;
+    public final int encoderPadding;
+    public final boolean vbr;
+    public final int framesPerEntry;
+    private final int[] seekTable;
+
+    private Mp3Index(int sampleRate, int channelCount, int samplesPerFrame, int frameCount,
+                     int firstFrameOffset, int audioBytes, int encoderDelay, int encoderPadding,
+                     boolean vbr, int framesPerEntry, int[] seekTable) {
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+        this.samplesPerFrame = samplesPerFrame;
+        this.frameCount = frameCount;
+        this.firstFrameOffset = firstFrameOffset;
+        this.audioBytes = audioBytes;
+        this.encoderDelay = encoderDelay;
+        this.encoderPadding = encoderPadding;
+        this.vbr = vbr;
+        this.framesPerEntry = framesPerEntry;
+        this.seekTable = seekTable;
+    }
+
+    /**
+     * Memory map and index part of a file, ex: an asset at its APK offset.
+     * Offsets in the index are relative to offset.
+     */
+    public static Mp3Index scan(FileChannel channel, long offset, long length) throws IOException {
+        return scan(channel.map(FileChannel.MapMode.READ_ONLY, offset, length), DEFAULT_FRAMES_PER_ENTRY);
+    }
+
+    /**
+     * Index buffer from position 0 to limit, offsets in the index are buffer positions.
+     * @throws IOException if no mp3 frame is found.
+     */
+    public static Mp3Index scan(ByteBuffer data, int framesPerEntry) throws IOException {
+        ByteBuffer buffer = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int end = buffer.limit();
+        int pos = Mp3FrameHeader.findFrame(buffer, Mp3FrameHeader.skipId3v2(buffer, 0), end);
+        Mp3FrameHeader first = (pos >= 0) ? Mp3FrameHeader.parse(buffer.getInt(pos)) : null;
+        if (first == null) {
+            throw new IOException("No mp3 frame found");
+        }
+
+        int encoderDelay = 0;
+        int encoderPadding = 0;
+        boolean vbr = false;
+        int tagPos = pos + Mp3FrameHeader.HEADER_SIZE + (first.crc ? 2 : 0) + first.getSideInfoSize();
+        int tag = (first.layer == 3 && tagPos + 8 <= end) ? buffer.getInt(tagPos) : 0;
+        if (tag == XING || tag == INFO) {
+            int flags = buffer.getInt(tagPos + 4);
+            int lamePos = tagPos + 8 + ((flags & 1) != 0 ? 4 : 0) + ((flags & 2) != 0 ? 4 : 0)
+                    + ((flags & 4) != 0 ? XING_TOC_SIZE : 0) + ((flags & 8) != 0 ? 4 : 0);
+            // Encoder tag (LAME, Lavf, Lavc) then 12 bit delay and 12 bit padding.
+            if (lamePos + LAME_DELAY_OFFSET + 3 <= pos + first.frameLength && isAscii(buffer, lamePos, 4)) {
+                int delayPadding = ((buffer.get(lamePos + LAME_DELAY_OFFSET) & 0xFF) << 16)
+                        | ((buffer.get(lamePos + LAME_DELAY_OFFSET + 1) & 0xFF) << 8)
+                        | (buffer.get(lamePos + LAME_DELAY_OFFSET + 2) & 0xFF);
+                encoderDelay = delayPadding >>> 12;
+                encoderPadding = delayPadding & 0xFFF;
+            }
+            vbr = (tag == XING);
+            pos += first.frameLength;
+        } else if (first.layer == 3 && pos + Mp3FrameHeader.HEADER_SIZE + VBRI_OFFSET + 4 <= end
+                && buffer.getInt(pos + Mp3FrameHeader.HEADER_SIZE + VBRI_OFFSET) == VBRI) {
+            // Fraunhofer tag: version, 16 bit encoder delay, quality, bytes, frames, TOC. No padding.
+            int delayPos = pos + Mp3FrameHeader.HEADER_SIZE + VBRI_OFFSET + VBRI_DELAY_OFFSET;
+            if (delayPos + 2 <= Math.min(end, pos + first.frameLength)) {
+                encoderDelay = buffer.getShort(delayPos) & 0xFFFF;
+            }
+            vbr = true;
+            pos += first.frameLength;
+        }
+
+        // Walk audio frames, resync past garbage, stop at a truncated frame or trailing tag.
+        int firstFrameOffset = -1;
+        int bitrateBits = -1;
+        int frameCount = 0;
+        long audioBytes = 0;
+        int[] seekTable = new int[64];
+        int entries = 0;
+        while (pos >= 0 && pos + Mp3FrameHeader.HEADER_SIZE <= end) {
+            int header = buffer.getInt(pos);
+            int length = Mp3FrameHeader.frameLength(header);
+            if (length <= 0) {
+                pos = Mp3FrameHeader.findFrame(buffer, pos + 1, end);
+                continue;
+            }
+            if (pos + length > end) {
+                break;
+            }
+            if (firstFrameOffset < 0) {
+                firstFrameOffset = pos;
+                bitrateBits = (header >>> 12) & 0xF;
+            } else if (((header >>> 12) & 0xF) != bitrateBits) {
+                vbr = true;     // No tag, or an Info tag on a file that is not constant bitrate.
+            }
+            if (frameCount % framesPerEntry == 0) {
+                if (entries == seekTable.length) {
+                    int[] grown = new int[entries * 2];
+                    System.arraycopy(seekTable, 0, grown, 0, entries);
+                    seekTable = grown;
+                }
+                seekTable[entries++] = pos;
+            }
+            frameCount++;
+            audioBytes += length;
+            pos += length;
+        }
+        if (frameCount == 0) {
+            throw new IOException("No mp3 audio frames");
+        }
+
+        int[] table = new int[entries];
+        System.arraycopy(seekTable, 0, table, 0, entries);
+        return new Mp3Index(first.sampleRate, first.channelCount, first.samplesPerFrame, frameCount,
+                firstFrameOffset, (int) audioBytes, encoderDelay, encoderPadding, vbr, framesPerEntry, table);
+    }
+
+    /**
+     * @return audio samples per channel, less encoder delay and padding.
+     */
+    public long getSampleCount() {
+        return Math.max(0, (long) frameCount * samplesPerFrame - encoderDelay - encoderPadding);
+    }
+
+    public long getDurationMicro() {
+        return getSampleCount() * 1000000L / sampleRate;
+    }
+
+    public int getDurationMilli() {
+        return (int) (getSampleCount() * 1000L / sampleRate);
+    }
+
+    /**
+     * @return average bitrate of the audio frames.
+     */
+    public int getBitrateKbps() {
+        long frameSamples = (long) frameCount * samplesPerFrame;
+        return (int) (audioBytes * 8L * sampleRate / frameSamples / 1000);
+    }
+
+    /**
+     * @return index of frame holding time, counting the encoder delay.
+     */
+    public int getFrameAt(long timeMicro) {
+        long sample = timeMicro * sampleRate / 1000000L + encoderDelay;
+        return (int) Math.max(0, Math.min(frameCount - 1, sample / samplesPerFrame));
+    }
+
+    /**
+     * @return offset of the indexed frame at or before time, up to framesPerEntry frames early.
+     * Layer 3 frames may borrow bits from earlier frames, so decode from here and discard
+     * output up to timeMicro.
+     */
+    public int getSeekOffset(long timeMicro) {
+        return seekTable[getFrameAt(timeMicro) / framesPerEntry];
+    }
+
+    /**
+     * @return time of first audio sample in the frame at seek table entry, rounded up so
+     * getSeekOffset(getEntryTimeMicro(entry)) returns the entry.
+     */
+    public long getEntryTimeMicro(int entry) {
+        long sample = Math.max(0, (long) entry * framesPerEntry * samplesPerFrame - encoderDelay);
+        return (sample * 1000000L + sampleRate - 1) / sampleRate;
+    }
+
+    public int getEntryCount() {
+        return seekTable.length;
+    }
+
+    public int getEntryOffset(int entry) {
+        return seekTable[entry];
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Serialize, big endian:
+     * <pre>
+     *   int MAGIC, short VERSION, int sampleRate, byte channels, short samplesPerFrame,
+     *   int frameCount, int firstFrameOffset, int audioBytes, short delay, short padding,
+     *   byte vbr, short framesPerEntry, short entries, entries x int offset
+     * </pre>
+     */
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(40 + seekTable.length * 4);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(sampleRate);
+        out.writeByte(channelCount);
+        out.writeShort(samplesPerFrame);
+        out.writeInt(frameCount);
+        out.writeInt(firstFrameOffset);
+        out.writeInt(audioBytes);
+        out.writeShort(encoderDelay);
+        out.writeShort(encoderPadding);
+        out.writeByte(vbr ? 1 : 0);
+        out.writeShort(framesPerEntry);
+        out.writeShort(seekTable.length);
+        for (int offset : seekTable) {
+            out.writeInt(offset);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException if data is not a serialized index or is truncated.
+     */
+    public static Mp3Index read(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < 6 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IOException("Not an mp3 index or wrong version");
+        }
+        try {
+            int sampleRate = buffer.getInt();
+            int channels = buffer.get() & 0xFF;
+            int samplesPerFrame = buffer.getShort() & 0xFFFF;
+            int frameCount = buffer.getInt();
+            int firstFrameOffset = buffer.getInt();
+            int audioBytes = buffer.getInt();
+            int delay = buffer.getShort() & 0xFFFF;
+            int padding = buffer.getShort() & 0xFFFF;
+            boolean vbr = buffer.get() != 0;
+            int framesPerEntry = buffer.getShort() & 0xFFFF;
+            int[] table = new int[buffer.getShort() & 0xFFFF];
+            buffer.asIntBuffer().get(table);
+            return new Mp3Index(sampleRate, channels, samplesPerFrame, frameCount, firstFrameOffset,
+                    audioBytes, delay, padding, vbr, framesPerEntry, table);
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated mp3 index, " + data.length + " bytes", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%dms %dkbps%s %dHz x%d frames=%d delay=%d padding=%d entries=%d",
+                getDurationMilli(), getBitrateKbps(), vbr ? " vbr" : "", sampleRate, channelCount,
+                frameCount, encoderDelay, encoderPadding, seekTable.length);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static boolean isAscii(ByteBuffer buffer, int pos, int count) {
+        for (int idx = 0; idx < count; idx++) {
+            int ch = buffer.get(pos + idx);
+            if (ch < 0x20 || ch > 0x7E) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
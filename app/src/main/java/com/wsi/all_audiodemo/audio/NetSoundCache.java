@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Disk cache for sounds loaded over the network.
+ * <p>
+ * get(url) returns a local file:
+ * <li> fresh cached copy is returned without any network access.
+ * <li> stale copy is revalidated with If-None-Match / If-Modified-Since, a 304 only
+ *      refreshes the expire time.
+ * <li> missing copy is downloaded.
+ * <li> if the network fails the stale copy is returned (offline fallback).
+ * <p>
+ * Entries are evicted least recently used first once the byte budget is exceeded.
+ * Only uses java.net and java.io, so it runs on a plain JVM against a local test server.
+ * Blocking, call from a background thread. The cache lock only guards the index, network
+ * fetches run outside it under a per url lock, so different urls download in parallel and
+ * repeated requests for one url wait for the first instead of downloading it twice.
+ */
+@SuppressWarnings("unused")
+public class NetSoundCache {
+
+    private static final String DATA_EXT = ".data";
+    private static final String META_EXT = ".meta";
+    private static final String META_URL = "url";
+    private static final String META_ETAG = "etag";
+    private static final String META_LAST_MODIFIED = "lastModified";
+    private static final String META_EXPIRES = "expires";
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final int TIMEOUT_MILLI = 10_000;
+
+    private final File dir;
+    private final long maxBytes;
+    private final long defaultTtlMilli;
+
+    // Entry key to data size, in access order (eldest first).
+    private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    // Per url fetch locks by entry key, removed when no request holds them.
+    private final HashMap<String, KeyLock> keyLocks = new HashMap<>();
+
+    private int freshHits;
+    private int revalidated;
+    private int downloads;
+    private int offlineHits;
+    private int evictions;
+    private int requests;
+
+    /**
+     * @param dir cache directory, created if missing.
+     * @param maxBytes total data byte budget.
+     * @param defaultTtlMilli freshness when server sends no Cache-Control max-age.
+     */
+    public NetSoundCache(File dir, long maxBytes, long defaultTtlMilli) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.defaultTtlMilli = defaultTtlMilli;
+        //noinspection ResultOfMethodCallIgnored
+        dir.mkdirs();
+        loadIndex();
+    }
+
+    /**
+     * @return local file with url content.
+     * @throws IOException if not cached and network fetch fails.
+     */
+    public File get(String url) throws IOException {
+        String key = keyFor(url);
+        KeyLock keyLock = lockKey(key);
+        try {
+            synchronized (keyLock) {
+                return get(url, key);
+            }
+        } finally {
+            unlockKey(key, keyLock);
+        }
+    }
+
+    /**
+     * @return true if url has a cached copy, fresh or stale.
+     */
+    public synchronized boolean contains(String url) {
+        return lru.containsKey(keyFor(url));
+    }
+
+    /**
+     * @return unique temp file to download url into, see commit().
+     */
+    public File createTempFile(String url) throws IOException {
+        return File.createTempFile(keyFor(url), ".tmp", dir);
+    }
+
+    /**
+     * @return cached file if present and fresh, never touches the network.
+     */
+    public synchronized File getIfFresh(String url) {
+        String key = keyFor(url);
+        File dataFile = new File(dir, key + DATA_EXT);
+        if (dataFile.exists()) {
+            Properties meta = readMeta(new File(dir, key + META_EXT));
+            if (meta != null && System.currentTimeMillis() < parseLong(meta.getProperty(META_EXPIRES))) {
+                freshHits++;
+                touch(key);
+                return dataFile;
+            }
+        }
+        return null;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getRequestCount() {
+        return requests;
+    }
+
+    public synchronized int getDownloadCount() {
+        return downloads;
+    }
+
+    public synchronized int getRevalidatedCount() {
+        return revalidated;
+    }
+
+    public synchronized int getFreshHitCount() {
+        return freshHits;
+    }
+
+    public synchronized int getOfflineHitCount() {
+        return offlineHits;
+    }
+
+    public synchronized int getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US,
+                "NetSoundCache used=%d/%d requests=%d downloads=%d 304=%d fresh=%d offline=%d evictions=%d",
+                usedBytes, maxBytes, requests, downloads, revalidated, freshHits, offlineHits, evictions);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Runs holding the url's key lock, the cache lock is only taken to update the index.
+     */
+    private File get(String url, String key) throws IOException {
+        File dataFile = new File(dir, key + DATA_EXT);
+        File metaFile = new File(dir, key + META_EXT);
+        Properties meta = dataFile.exists() ? readMeta(metaFile) : null;
+
+        long now = System.currentTimeMillis();
+        if (meta != null && now < parseLong(meta.getProperty(META_EXPIRES))) {
+            synchronized (this) {
+                freshHits++;
+                touch(key);
+            }
+            return dataFile;
+        }
+
+        try {
+            fetch(url, key, metaFile, meta);
+        } catch (IOException ex) {
+            if (meta != null) {
+                synchronized (this) {
+                    offlineHits++;
+                    touch(key);
+                }
+                return dataFile;
+            }
+            throw ex;
+        }
+        return dataFile;
+    }
+
+    private synchronized KeyLock lockKey(String key) {
+        KeyLock keyLock = keyLocks.get(key);
+        if (keyLock == null) {
+            keyLock = new KeyLock();
+            keyLocks.put(key, keyLock);
+        }
+        keyLock.users++;
+        return keyLock;
+    }
+
+    private synchronized void unlockKey(String key, KeyLock keyLock) {
+        if (--keyLock.users == 0) {
+            keyLocks.remove(key);
+        }
+    }
+
+    private void fetch(String url, String key, File metaFile, Properties meta) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setConnectTimeout(TIMEOUT_MILLI);
+        conn.setReadTimeout(TIMEOUT_MILLI);
+        conn.setUseCaches(false);
+        if (meta != null) {
+            String etag = meta.getProperty(META_ETAG);
+            String lastModified = meta.getProperty(META_LAST_MODIFIED);
+            if (etag != null) {
+                conn.setRequestProperty("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                conn.setRequestProperty("If-Modified-Since", lastModified);
+            }
+        }
+
+        try {
+            synchronized (this) {
+                requests++;
+            }
+            int code = conn.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && meta != null) {
+                meta.setProperty(META_EXPIRES, Long.toString(expiresAt(conn)));
+                writeMeta(metaFile, meta);
+                synchronized (this) {
+                    revalidated++;
+                    touch(key);
+                }
+                return;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code + " " + url);
+            }
+
+            // Download to temp file so a failed transfer keeps the old copy.
+            File tmpFile = createTempFile(url);
+            try (InputStream in = conn.getInputStream(); OutputStream out = new FileOutputStream(tmpFile)) {
+                byte[] buffer = new byte[16 * 1024];
+                int len;
+                while ((len = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, len);
+                }
+            }
+            commit(url, tmpFile, conn);
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Store a completed download (temp file from createTempFile) using the response headers.
+     */
+    synchronized void commit(String url, File tmpFile, HttpURLConnection conn) throws IOException {
+        String key = keyFor(url);
+        File dataFile = new File(dir, key + DATA_EXT);
+        if (!tmpFile.renameTo(dataFile)) {
+            //noinspection ResultOfMethodCallIgnored
+            tmpFile.delete();
+            throw new IOException("Failed to store " + dataFile);
+        }
+        downloads++;
+
+        Properties meta = new Properties();
+        meta.setProperty(META_URL, url);
+        putIfNotNull(meta, META_ETAG, conn.getHeaderField("ETag"));
+        putIfNotNull(meta, META_LAST_MODIFIED, conn.getHeaderField("Last-Modified"));
+        meta.setProperty(META_EXPIRES, Long.toString(expiresAt(conn)));
+        writeMeta(new File(dir, key + META_EXT), meta);
+
+        Long oldSize = lru.put(key, dataFile.length());
+        usedBytes += dataFile.length() - (oldSize != null ? oldSize : 0);
+        trim(key);
+    }
+
+    private long expiresAt(HttpURLConnection conn) {
+        long now = System.currentTimeMillis();
+        String cacheControl = conn.getHeaderField("Cache-Control");
+        if (cacheControl != null) {
+            if (cacheControl.contains("no-cache") || cacheControl.contains("no-store")) {
+                return now;     // Revalidate every time, still usable offline.
+            }
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return now + Long.parseLong(matcher.group(1)) * 1000;
+            }
+        }
+        long expires = conn.getHeaderFieldDate("Expires", 0);
+        return (expires > 0) ? expires : now + defaultTtlMilli;
+    }
+
+    private void touch(String key) {
+        lru.get(key);
+        //noinspection ResultOfMethodCallIgnored
+        new File(dir, key + DATA_EXT).setLastModified(System.currentTimeMillis());
+    }
+
+    /**
+     * Evict least recently used entries until within budget, never the entry just added.
+     * Entries whose key lock is held are skipped, another thread may be reading or fetching them.
+     */
+    private void trim(String keepKey) {
+        Iterator<Map.Entry<String, Long>> it = lru.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keepKey) || keyLocks.containsKey(eldest.getKey())) {
+                continue;
+            }
+            it.remove();
+            usedBytes -= eldest.getValue();
+            //noinspection ResultOfMethodCallIgnored
+            new File(dir, eldest.getKey() + DATA_EXT).delete();
+            //noinspection ResultOfMethodCallIgnored
+            new File(dir, eldest.getKey() + META_EXT).delete();
+            evictions++;
+        }
+    }
+
+    /**
+     * Rebuild LRU order from data file timestamps (updated on every access).
+     */
+    private void loadIndex() {
+        // Drop partial downloads left by a previous process.
+        File[] tmpFiles = dir.listFiles((d, name) -> name.endsWith(".tmp"));
+        if (tmpFiles != null) {
+            for (File tmpFile : tmpFiles) {
+                //noinspection ResultOfMethodCallIgnored
+                tmpFile.delete();
+            }
+        }
+
+        File[] files = dir.listFiles((d, name) -> name.endsWith(DATA_EXT));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String name = file.getName();
+            lru.put(name.substring(0, name.length() - DATA_EXT.length()), file.length());
+            usedBytes += file.length();
+        }
+    }
+
+    private static Properties readMeta(File metaFile) {
+        try (InputStream in = new FileInputStream(metaFile)) {
+            Properties meta = new Properties();
+            meta.load(in);
+            return meta;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static void writeMeta(File metaFile, Properties meta) throws IOException {
+        try (OutputStream out = new FileOutputStream(metaFile)) {
+            meta.store(out, null);
+        }
+    }
+
+    private static void putIfNotNull(Properties props, String key, String value) {
+        if (value != null) {
+            props.setProperty(key, value);
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return (value != null) ? Long.parseLong(value) : 0;
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format(Locale.US, "%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+
+    // =============================================================================================
+    private static class KeyLock {
+        // Requests waiting on or holding this lock, guarded by the cache lock.
+        int users;
+    }
+}
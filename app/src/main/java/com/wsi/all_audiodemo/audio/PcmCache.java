@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Decoded PCM cache keyed by sound name.
+ * <p>
+ * A sound is decoded once on first use, read from its wav asset when the build made one,
+ * and kept until the byte budget forces the least recently used entries out. Lookups block while decoding, call get() off the UI thread.
+ * <p>
+ * Hit, miss and eviction counters are exposed to tune the budget.
+ */
+@SuppressWarnings("unused")
+public class PcmCache {
+    private static final String TAG = "PcmCache";
+
+    // Default budget, ~45 seconds of 44.1KHz stereo.
+    public static final int DEFAULT_BUDGET_BYTES = 8 * 1024 * 1024;
+
+    private static PcmCache instance;
+
+    private final Context appContext;
+    private final LruCache<String, PcmSound> cache;
+
+    public static synchronized PcmCache getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new PcmCache(context.getApplicationContext(), DEFAULT_BUDGET_BYTES);
+        }
+        return instance;
+    }
+
+    public PcmCache(@NonNull Context appContext, int budgetBytes) {
+        this.appContext = appContext;
+        cache = new LruCache<>(budgetBytes) {
+            @Override
+            protected int sizeOf(@NonNull String name, @NonNull PcmSound sound) {
+                return sound.getByteSize();
+            }
+
+            @Nullable
+            @Override
+            protected PcmSound create(@NonNull String name) {
+                return decode(name);
+            }
+        };
+    }
+
+    /**
+     * Get decoded sound, decoding on a miss.
+     * @return null if sound does not exist or fails to decode.
+     */
+    @Nullable
+    public PcmSound get(@NonNull String name) {
+        return cache.get(name);
+    }
+
+    public void setBudget(int budgetBytes) {
+        cache.resize(budgetBytes);
+    }
+
+    public void clear() {
+        cache.evictAll();
+    }
+
+    public int getBudgetBytes() {
+        return cache.maxSize();
+    }
+
+    public int getUsedBytes() {
+        return cache.size();
+    }
+
+    public int getHitCount() {
+        return cache.hitCount();
+    }
+
+    public int getMissCount() {
+        return cache.missCount();
+    }
+
+    public int getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "PcmCache used=%d/%d bytes hits=%d misses=%d evictions=%d",
+                getUsedBytes(), getBudgetBytes(), getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    @Nullable
+    private PcmSound decode(@NonNull String name) {
+        int resId = SoundIds.getId(name);
+        if (resId == SoundIds.INVALID_ID) {
+            Log.w(TAG, "No raw resource for " + name);
+            return null;
+        }
+        long startMilli = System.currentTimeMillis();
+        try (AssetFileDescriptor afd = PcmDecoder.openPcmAsset(appContext, name)) {
+            if (afd != null) {
+                PcmSound sound = PcmDecoder.readWav(name, afd);
+                Log.d(TAG, "Loaded wav " + sound + " in " + (System.currentTimeMillis() - startMilli) + "ms");
+                return sound;
+            }
+        } catch (Exception ex) {
+            Log.w(TAG, "Failed to read wav " + name + ", decoding mp3 " + ex.getMessage());
+        }
+        try (AssetFileDescriptor afd = appContext.getResources().openRawResourceFd(resId)) {
+            PcmSound sound = PcmDecoder.decode(name, afd);
+            Log.d(TAG, "Decoded " + sound + " in " + (System.currentTimeMillis() - startMilli) + "ms");
+            return sound;
+        } catch (Exception ex) {
+            Log.w(TAG, "Failed to decode " + name + " " + ex.getMessage());
+            return null;
+        }
+    }
+}
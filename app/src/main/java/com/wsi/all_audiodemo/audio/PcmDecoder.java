@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Decode compressed audio (mp3) to 16-bit PCM using MediaExtractor and MediaCodec.
+ * Float codec output is converted to 16-bit, other output encodings fail the decode.
+ * Short clips may also have a build time wav copy in assets/pcm/ which is read without a codec.
+ * Blocking, call from a background thread.
+ */
+public class PcmDecoder {
+
+    private static final long TIMEOUT_USEC = 10_000;
+
+    private PcmDecoder() {
+    }
+
+    @NonNull
+    public static PcmSound decode(@NonNull String name, @NonNull AssetFileDescriptor afd) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            int track = findAudioTrack(extractor);
+            if (track < 0) {
+                throw new IOException("No audio track in " + name);
+            }
+            extractor.selectTrack(track);
+            MediaFormat inFormat = extractor.getTrackFormat(track);
+            int sampleRate = inFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            int channelCount = inFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+
+            // Ask codec for 16-bit output, some devices default to float and may ignore the request.
+            int pcmEncoding = AudioFormat.ENCODING_PCM_16BIT;
+            inFormat.setInteger(MediaFormat.KEY_PCM_ENCODING, AudioFormat.ENCODING_PCM_16BIT);
+            codec = MediaCodec.createDecoderByType(inFormat.getString(MediaFormat.KEY_MIME));
+            codec.configure(inFormat, null, null, 0);
+            codec.start();
+
+            // Estimate output size from duration to limit array growth.
+            long durationUs = inFormat.containsKey(MediaFormat.KEY_DURATION)
+                    ? inFormat.getLong(MediaFormat.KEY_DURATION) : 1_000_000;
+            ShortArrayBuilder pcm = new ShortArrayBuilder(
+                    (int) (durationUs * sampleRate / 1_000_000) * channelCount + 4096);
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            while (!outputDone) {
+                if (!inputDone) {
+                    int inIdx = codec.dequeueInputBuffer(TIMEOUT_USEC);
+                    if (inIdx >= 0) {
+                        ByteBuffer inBuf = codec.getInputBuffer(inIdx);
+                        int size = extractor.readSampleData(inBuf, 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(inIdx, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(inIdx, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int outIdx = codec.dequeueOutputBuffer(info, TIMEOUT_USEC);
+                if (outIdx >= 0) {
+                    ByteBuffer outBuf = codec.getOutputBuffer(outIdx);
+                    if (outBuf != null && info.size > 0) {
+                        outBuf.position(info.offset).limit(info.offset + info.size);
+                        outBuf.order(ByteOrder.nativeOrder());
+                        if (pcmEncoding == AudioFormat.ENCODING_PCM_FLOAT) {
+                            pcm.append(outBuf.asFloatBuffer());
+                        } else {
+                            pcm.append(outBuf.asShortBuffer());
+                        }
+                    }
+                    codec.releaseOutputBuffer(outIdx, false);
+                    outputDone = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                } else if (outIdx == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat outFormat = codec.getOutputFormat();
+                    sampleRate = outFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channelCount = outFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    pcmEncoding = outFormat.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                            ? outFormat.getInteger(MediaFormat.KEY_PCM_ENCODING) : AudioFormat.ENCODING_PCM_16BIT;
+                    if (pcmEncoding != AudioFormat.ENCODING_PCM_16BIT && pcmEncoding != AudioFormat.ENCODING_PCM_FLOAT) {
+                        throw new IOException("Unsupported pcm encoding " + pcmEncoding + " decoding " + name);
+                    }
+                }
+            }
+            return new PcmSound(name, pcm.toArray(), sampleRate, channelCount);
+        } catch (IllegalStateException ex) {
+            throw new IOException("Failed to decode " + name, ex);
+        } finally {
+            if (codec != null) {
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+
+    /**
+     * Open build time transcoded wav copy of a res/raw/ sound, see TranscodeSoundsTask.
+     * @return null if sound has no wav copy (long clip or built without ffmpeg).
+     */
+    @Nullable
+    public static AssetFileDescriptor openPcmAsset(@NonNull Context context, @NonNull String name) {
+        try {
+            return context.getAssets().openFd(SoundInfo.pcmAssetPath(name));
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Read 16-bit PCM wav, a plain copy of the data chunk.
+     */
+    @NonNull
+    public static PcmSound readWav(@NonNull String name, @NonNull AssetFileDescriptor afd) throws IOException {
+        byte[] data = new byte[(int) afd.getLength()];
+        try (DataInputStream in = new DataInputStream(afd.createInputStream())) {
+            in.readFully(data);
+        }
+        return PcmSound.fromWav(name, data);
+    }
+
+    private static int findAudioTrack(MediaExtractor extractor) {
+        for (int idx = 0; idx < extractor.getTrackCount(); idx++) {
+            String mime = extractor.getTrackFormat(idx).getString(MediaFormat.KEY_MIME);
+            if (mime != null && mime.startsWith("audio/")) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+
+    // =============================================================================================
+    private static class ShortArrayBuilder {
+        private short[] data;
+        private int size;
+
+        ShortArrayBuilder(int capacity) {
+            data = new short[Math.max(capacity, 1024)];
+        }
+
+        void append(ShortBuffer src) {
+            int count = src.remaining();
+            ensureCapacity(count);
+            src.get(data, size, count);
+            size += count;
+        }
+
+        /**
+         * Append float samples (-1 to 1) converted to 16-bit.
+         */
+        void append(FloatBuffer src) {
+            int count = src.remaining();
+            ensureCapacity(count);
+            for (int idx = 0; idx < count; idx++) {
+                float sample = src.get() * 32767f;
+                data[size++] = (short) Math.max(-32768f, Math.min(32767f, sample));
+            }
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > data.length) {
+                short[] grown = new short[Math.max(data.length * 2, size + count)];
+                System.arraycopy(data, 0, grown, 0, size);
+                data = grown;
+            }
+        }
+
+        short[] toArray() {
+            if (size == data.length) {
+                return data;
+            }
+            short[] result = new short[size];
+            System.arraycopy(data, 0, result, 0, size);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Software mixer for concurrent alerts.
+ * <p>
+ * Mixes up to maxVoices PcmSound voices into one interleaved 16-bit output buffer,
+ * so overlapping alerts share a single output track instead of one decoder and
+ * track per sound. Each voice has its own gain and is linearly resampled to the
+ * output rate, mono sources are copied to every output channel. The sum is clipped
+ * to 16-bit range and clipped samples are counted.
+ * <p>
+ * All buffers are allocated up front, mix() does not allocate. Platform independent
+ * so it can be benchmarked on a plain JVM.
+ * <pre>
+ *     PcmMixer mixer = new PcmMixer(48000, 2, 4, 1024);
+ *     int voiceId = mixer.play(sound, 0.8f);
+ *     mixer.mix(outBuffer, 1024);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class PcmMixer {
+    public static final int INVALID_VOICE = -1;
+
+    // Source position is kept as frames in 16.16 fixed point.
+    private static final int FRAC_BITS = 16;
+    private static final long FRAC_ONE = 1L << FRAC_BITS;
+    private static final float FRAC_SCALE = 1.0f / FRAC_ONE;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private final int outSampleRate;
+    private final int outChannels;
+    private final int maxFrames;
+    private final Voice[] voices;
+    private final float[] accum;
+    private float masterGain = 1.0f;
+    private long nextSeq;
+
+    private long mixedFrames;
+    private long clippedSamples;
+    private int stolenVoices;
+
+    /**
+     * @param outSampleRate output sample rate.
+     * @param outChannels   output channels, interleaved.
+     * @param maxVoices     voices mixed at once, oldest is stolen when all are busy.
+     * @param maxFrames     largest frame count passed to mix().
+     */
+    public PcmMixer(int outSampleRate, int outChannels, int maxVoices, int maxFrames) {
+        if (maxVoices > SLOT_MASK) {
+            throw new IllegalArgumentException("maxVoices " + maxVoices + " > " + SLOT_MASK);
+        }
+        this.outSampleRate = outSampleRate;
+        this.outChannels = outChannels;
+        this.maxFrames = maxFrames;
+        this.voices = new Voice[maxVoices];
+        for (int idx = 0; idx < maxVoices; idx++) {
+            voices[idx] = new Voice();
+        }
+        this.accum = new float[maxFrames * outChannels];
+    }
+
+    public int getOutSampleRate() {
+        return outSampleRate;
+    }
+
+    public int getOutChannels() {
+        return outChannels;
+    }
+
+    public int getMaxFrames() {
+        return maxFrames;
+    }
+
+    /**
+     * Start voice.
+     * @return voice id for stop() and setGain().
+     */
+    public synchronized int play(PcmSound sound, float gain) {
+        int slot = -1;
+        long oldestSeq = Long.MAX_VALUE;
+        for (int idx = 0; idx < voices.length; idx++) {
+            Voice voice = voices[idx];
+            if (voice.sound == null) {
+                slot = idx;
+                break;
+            }
+            if (voice.seq < oldestSeq) {
+                oldestSeq = voice.seq;
+                slot = idx;
+            }
+        }
+        Voice voice = voices[slot];
+        if (voice.sound != null) {
+            stolenVoices++;
+        }
+        voice.sound = sound;
+        voice.gain = gain;
+        voice.position = 0;
+        voice.step = ((long) sound.sampleRate << FRAC_BITS) / outSampleRate;
+        voice.seq = nextSeq++;
+        voice.generation++;
+        return (voice.generation << SLOT_BITS) | slot;
+    }
+
+    public synchronized void stop(int voiceId) {
+        Voice voice = getVoice(voiceId);
+        if (voice != null) {
+            voice.sound = null;
+        }
+    }
+
+    public synchronized void stopAll() {
+        for (Voice voice : voices) {
+            voice.sound = null;
+        }
+    }
+
+    public synchronized void setGain(int voiceId, float gain) {
+        Voice voice = getVoice(voiceId);
+        if (voice != null) {
+            voice.gain = gain;
+        }
+    }
+
+    public synchronized void setMasterGain(float masterGain) {
+        this.masterGain = masterGain;
+    }
+
+    /**
+     * @return true if voice is still playing.
+     */
+    public synchronized boolean isPlaying(int voiceId) {
+        return getVoice(voiceId) != null;
+    }
+
+    public synchronized int getActiveVoices() {
+        int active = 0;
+        for (Voice voice : voices) {
+            if (voice.sound != null) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Mix active voices into out, silence where no voice plays.
+     *
+     * @param out    interleaved output, at least frames * outChannels samples.
+     * @param frames frames to mix, at most maxFrames.
+     * @return number of voices mixed.
+     */
+    public synchronized int mix(short[] out, int frames) {
+        frames = Math.min(frames, maxFrames);
+        int sampleCnt = frames * outChannels;
+        Arrays.fill(accum, 0, sampleCnt, 0f);
+
+        int mixed = 0;
+        for (Voice voice : voices) {
+            if (voice.sound != null) {
+                mixVoice(voice, frames);
+                mixed++;
+            }
+        }
+
+        for (int idx = 0; idx < sampleCnt; idx++) {
+            float value = accum[idx] * masterGain;
+            if (value > Short.MAX_VALUE) {
+                value = Short.MAX_VALUE;
+                clippedSamples++;
+            } else if (value < Short.MIN_VALUE) {
+                value = Short.MIN_VALUE;
+                clippedSamples++;
+            }
+            out[idx] = (short) value;
+        }
+        mixedFrames += frames;
+        return mixed;
+    }
+
+    public synchronized long getMixedFrames() {
+        return mixedFrames;
+    }
+
+    public synchronized long getClippedSamples() {
+        return clippedSamples;
+    }
+
+    public synchronized int getStolenVoices() {
+        return stolenVoices;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "PcmMixer %dHz x%d voices=%d/%d frames=%d clipped=%d stolen=%d",
+                outSampleRate, outChannels, getActiveVoices(), voices.length,
+                mixedFrames, clippedSamples, stolenVoices);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private Voice getVoice(int voiceId) {
+        if (voiceId == INVALID_VOICE) {
+            return null;
+        }
+        int slot = voiceId & SLOT_MASK;
+        if (slot >= voices.length) {
+            return null;
+        }
+        Voice voice = voices[slot];
+        return (voice.sound != null && voice.generation == (voiceId >>> SLOT_BITS)) ? voice : null;
+    }
+
+    /**
+     * Add one voice to the accumulator, voice is freed when its samples run out.
+     */
+    private void mixVoice(Voice voice, int frames) {
+        final short[] src = voice.sound.samples;
+        final int srcChannels = voice.sound.channelCount;
+        final int srcFrames = src.length / srcChannels;
+        final float gain = voice.gain;
+        final long step = voice.step;
+        long position = voice.position;
+
+        int outIdx = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            int srcFrame = (int) (position >> FRAC_BITS);
+            if (srcFrame >= srcFrames) {
+                voice.sound = null;
+                return;
+            }
+            int srcIdx = srcFrame * srcChannels;
+            int nextIdx = (srcFrame + 1 < srcFrames) ? srcIdx + srcChannels : srcIdx;
+            float frac = (position & (FRAC_ONE - 1)) * FRAC_SCALE;
+            for (int ch = 0; ch < outChannels; ch++) {
+                int srcCh = Math.min(ch, srcChannels - 1);
+                float s0 = src[srcIdx + srcCh];
+                float s1 = src[nextIdx + srcCh];
+                accum[outIdx++] += (s0 + (s1 - s0) * frac) * gain;
+            }
+            position += step;
+        }
+        voice.position = position;
+    }
+
+    // =============================================================================================
+    private static final class Voice {
+        PcmSound sound;
+        float gain;
+        long position;
+        long step;
+        long seq;
+        int generation;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decoded 16-bit PCM audio clip.
+ * <p>
+ * Samples are interleaved when channelCount is greater than one.
+ * Platform independent so it can be shared with the mixer and JVM benchmarks.
+ */
+@SuppressWarnings("unused")
+public final class PcmSound {
+    public final String name;
+    public final short[] samples;
+    public final int sampleRate;
+    public final int channelCount;
+
+    public PcmSound(String name, short[] samples, int sampleRate, int channelCount) {
+        this.name = name;
+        this.samples = samples;
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+    }
+
+    /**
+     * Read a 16-bit PCM wav file, no codec needed so this is a copy of the data chunk.
+     * @throws IOException if data is not RIFF WAVE 16-bit PCM.
+     */
+    public static PcmSound fromWav(String name, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.length < 44 || buffer.getInt(0) != 0x46464952 || buffer.getInt(8) != 0x45564157) {
+            throw new IOException("Not a wav file " + name);
+        }
+        int sampleRate = 0;
+        int channels = 0;
+        int pos = 12;
+        while (pos + 8 <= data.length) {
+            int chunkId = buffer.getInt(pos);
+            int chunkSize = buffer.getInt(pos + 4);
+            if (chunkSize < 0 || chunkSize > data.length - pos - 8
+                    || (chunkId == 0x20746d66 && chunkSize < 16)) {
+                throw new IOException("Bad wav chunk size " + chunkSize + " at " + pos + " " + name);
+            }
+            if (chunkId == 0x20746d66) {            // "fmt "
+                int format = buffer.getShort(pos + 8) & 0xFFFF;
+                int bits = buffer.getShort(pos + 22);
+                if (format != 1 || bits != 16) {
+                    throw new IOException("Unsupported wav format=" + format + " bits=" + bits + " " + name);
+                }
+                channels = buffer.getShort(pos + 10);
+                sampleRate = buffer.getInt(pos + 12);
+            } else if (chunkId == 0x61746164) {     // "data"
+                if (channels <= 0 || sampleRate <= 0) {
+                    break;
+                }
+                int sampleCount = chunkSize / 2;
+                short[] samples = new short[sampleCount - sampleCount % channels];
+                buffer.position(pos + 8);
+                buffer.asShortBuffer().get(samples);
+                return new PcmSound(name, samples, sampleRate, channels);
+            }
+            pos += 8 + chunkSize + (chunkSize & 1);
+        }
+        throw new IOException("Missing wav fmt or data chunk " + name);
+    }
+
+    public int getFrameCount() {
+        return samples.length / channelCount;
+    }
+
+    public int getByteSize() {
+        return samples.length * 2;
+    }
+
+    public long getDurationMilli() {
+        return getFrameCount() * 1000L / sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + sampleRate + "Hz x" + channelCount + " " + getDurationMilli() + "ms";
+    }
+}
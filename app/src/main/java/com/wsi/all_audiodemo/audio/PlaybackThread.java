@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import android.media.MediaPlayer;
+import android.media.MediaTimestamp;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Dedicated playback thread.
+ * <p>
+ * Owns all MediaPlayer creation, data source setup and prepare so none of the blocking
+ * work runs on the UI thread. The UI posts a Command and gets Listener callbacks on the
+ * main thread. Each command records timestamps so queue, setup, prepare and start latency
+ * can be measured separately, they are collected in LatencyStats.
+ */
+@SuppressWarnings("unused")
+public class PlaybackThread {
+    private static final String TAG = "PlaybackThread";
+
+    // One player playing plus one preparing the next command.
+    private static final int MAX_PLAYERS = 2;
+
+    // First audio frame is polled from the player clock for up to 500ms.
+    static final int FIRST_AUDIO_POLLS = 25;
+    static final long FIRST_AUDIO_POLL_MILLI = 20;
+
+    private static PlaybackThread instance;
+
+    private final Handler playHandler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Only touched on playback thread.
+    private MediaPlayerPool playerPool;
+    private MediaPlayer currentPlayer;
+
+    public static synchronized PlaybackThread getInstance() {
+        if (instance == null) {
+            instance = new PlaybackThread();
+        }
+        return instance;
+    }
+
+    private PlaybackThread() {
+        HandlerThread thread = new HandlerThread(TAG);
+        thread.start();
+        // Players created on this thread deliver their callbacks on this looper.
+        playHandler = new Handler(thread.getLooper());
+        playHandler.post(() -> playerPool = new MediaPlayerPool(MAX_PLAYERS));
+    }
+
+    /**
+     * Queue command, replaces any sound started by an earlier command.
+     */
+    public void play(@NonNull Command command, @NonNull Listener listener) {
+        command.postedMilli = SystemClock.elapsedRealtime();
+        if (command.clickMilli == 0) {
+            command.clickMilli = command.postedMilli;
+        }
+        playHandler.post(() -> run(command, listener));
+    }
+
+    /**
+     * Stop and recycle current player.
+     */
+    public void stop() {
+        playHandler.post(this::recycleCurrent);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void run(Command command, Listener listener) {
+        command.runMilli = SystemClock.elapsedRealtime();
+        recycleCurrent();
+
+        MediaPlayerPool pool = playerPool;
+        MediaPlayer mediaPlayer = pool.acquire(
+                mp -> {
+                    if (currentPlayer == mp) {
+                        currentPlayer = null;
+                    }
+                },
+                (mp, what, extra) -> {
+                    if (currentPlayer == mp) {
+                        currentPlayer = null;
+                    }
+                    mainHandler.post(() -> listener.onError(command,
+                            new IOException(String.format(Locale.US, "Media error what=%d extra=%d", what, extra))));
+                    return true;
+                });
+        if (mediaPlayer == null) {
+            mainHandler.post(() -> listener.onError(command, new IOException("All players busy preparing")));
+            return;
+        }
+        currentPlayer = mediaPlayer;
+
+        try {
+            mediaPlayer.setLooping(false);
+            command.dataSource.setDataSource(mediaPlayer);
+            command.dataSourceMilli = SystemClock.elapsedRealtime();
+            if (command.asyncPrepare) {
+                // External sources, prepare on media framework thread.
+                mediaPlayer.setOnPreparedListener(mp -> start(command, mp, listener));
+                mediaPlayer.prepareAsync();
+            } else {
+                mediaPlayer.prepare();
+                start(command, mediaPlayer, listener);
+            }
+        } catch (Exception ex) {
+            if (currentPlayer == mediaPlayer) {
+                currentPlayer = null;
+            }
+            pool.release(mediaPlayer);
+            mainHandler.post(() -> listener.onError(command, ex));
+        }
+    }
+
+    private void start(Command command, MediaPlayer mediaPlayer, Listener listener) {
+        command.preparedMilli = SystemClock.elapsedRealtime();
+        playerPool.start(mediaPlayer);
+        command.startedMilli = SystemClock.elapsedRealtime();
+        Log.d(TAG, command.toString());
+        LatencyStats.getInstance().record(command);
+        playHandler.postDelayed(() -> pollFirstAudio(command, mediaPlayer, FIRST_AUDIO_POLLS), FIRST_AUDIO_POLL_MILLI);
+        mainHandler.post(() -> listener.onStarted(command));
+    }
+
+    /**
+     * Wait for the player clock to start moving, its anchor gives the time frame 0 was presented.
+     */
+    private void pollFirstAudio(Command command, MediaPlayer mediaPlayer, int polls) {
+        if (currentPlayer != mediaPlayer || polls <= 0) {
+            return;     // Stopped, recycled or no timestamp from this output.
+        }
+        MediaTimestamp timestamp = null;
+        try {
+            timestamp = mediaPlayer.getTimestamp();
+        } catch (IllegalStateException ignore) {
+        }
+        if (timestamp != null && timestamp.getMediaClockRate() > 0 && timestamp.getAnchorMediaTimeUs() > 0) {
+            command.setFirstAudioNano(getAnchorSystemNano(timestamp)
+                    - (long) (timestamp.getAnchorMediaTimeUs() * 1000 / timestamp.getMediaClockRate()));
+            LatencyStats.getInstance().record(command.technique, LatencyStats.FIRST_AUDIO, command.getFirstAudioMilli());
+            return;
+        }
+        playHandler.postDelayed(() -> pollFirstAudio(command, mediaPlayer, polls - 1), FIRST_AUDIO_POLL_MILLI);
+    }
+
+    /**
+     * getAnchorSystemNanoTime() is API 29, older releases only have the misspelled API 23 name.
+     */
+    @SuppressWarnings("deprecation")
+    private static long getAnchorSystemNano(MediaTimestamp timestamp) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return timestamp.getAnchorSystemNanoTime();
+        }
+        return timestamp.getAnchorSytemNanoTime();
+    }
+
+    private void recycleCurrent() {
+        if (currentPlayer != null) {
+            playerPool.recycle(currentPlayer);
+            currentPlayer = null;
+        }
+    }
+
+    // =============================================================================================
+
+    /**
+     * Sets player data source, runs on playback thread.
+     */
+    public interface DataSource {
+        void setDataSource(@NonNull MediaPlayer mediaPlayer) throws IOException;
+    }
+
+    /**
+     * Callbacks on main thread.
+     */
+    public interface Listener {
+        void onStarted(@NonNull Command command);
+
+        void onError(@NonNull Command command, @NonNull Exception ex);
+    }
+
+    // =============================================================================================
+    public static class Command {
+        public final String technique;
+        public final String name;
+        final DataSource dataSource;
+        final boolean asyncPrepare;
+
+        // SystemClock.elapsedRealtime() of each stage.
+        long clickMilli;
+        long postedMilli;
+        long runMilli;
+        long dataSourceMilli;
+        long preparedMilli;
+        long startedMilli;
+        long firstAudioMilli;
+
+        /**
+         * @param technique play technique (ex: raw, asset, network)
+         * @param name sound name.
+         * @param asyncPrepare true for external sources which may block on the network.
+         */
+        public Command(@NonNull String technique, @NonNull String name, boolean asyncPrepare,
+                       @NonNull DataSource dataSource) {
+            this.technique = technique;
+            this.name = name;
+            this.asyncPrepare = asyncPrepare;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Set time of the user action when it happened before the command was built,
+         * defaults to the time the command was posted.
+         */
+        public Command setClickMilli(long clickMilli) {
+            this.clickMilli = clickMilli;
+            return this;
+        }
+
+        /**
+         * @param firstFrameNano System.nanoTime() when frame 0 was presented.
+         */
+        void setFirstAudioNano(long firstFrameNano) {
+            firstAudioMilli = SystemClock.elapsedRealtime() - (System.nanoTime() - firstFrameNano) / 1000000L;
+        }
+
+        public long getResolveMilli() {
+            return postedMilli - clickMilli;
+        }
+
+        public long getQueueMilli() {
+            return runMilli - postedMilli;
+        }
+
+        public long getSetupMilli() {
+            return dataSourceMilli - runMilli;
+        }
+
+        public long getPrepareMilli() {
+            return preparedMilli - dataSourceMilli;
+        }
+
+        public long getStartMilli() {
+            return startedMilli - preparedMilli;
+        }
+
+        public long getTotalMilli() {
+            return startedMilli - postedMilli;
+        }
+
+        public long getStartedMilli() {
+            return startedMilli - clickMilli;
+        }
+
+        /**
+         * @return click to first audio frame or -1 if output gave no timestamp.
+         */
+        public long getFirstAudioMilli() {
+            return (firstAudioMilli == 0) ? -1 : firstAudioMilli - clickMilli;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s %s queue=%dms setup=%dms prepare=%dms start=%dms total=%dms",
+                    technique, name, getQueueMilli(), getSetupMilli(), getPrepareMilli(),
+                    getStartMilli(), getTotalMilli());
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Progressive HTTP download into a bounded ring buffer.
+ * <p>
+ * A background thread downloads the url into the ring while a reader pulls bytes with
+ * readAt(). The ring keeps a little data behind the read position for short back seeks,
+ * a read outside the buffered window restarts the download with an HTTP Range request.
+ * <p>
+ * When a cache is supplied and the download runs start to end without a seek, the bytes
+ * are also written to a cache temp file and committed on completion.
+ * <p>
+ * Platform independent, see StreamingDataSource for the MediaPlayer adapter.
+ */
+@SuppressWarnings("unused")
+public class ProgressiveDownload {
+
+    public static final int DEFAULT_CAPACITY = 256 * 1024;
+    public static final int DEFAULT_PREFIX = 32 * 1024;
+
+    private static final int TIMEOUT_MILLI = 10_000;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final String url;
+    private final byte[] ring;
+    private final int keepBehind;
+    private final int prefixBytes;
+    private final NetSoundCache cache;
+    private final long createdNanos = System.nanoTime();
+
+    // Guarded by this. Window holds absolute offsets [windowStart, windowEnd) of the content.
+    private long windowStart;
+    private long windowEnd;
+    private long readPos;
+    private long size = -1;
+    private boolean eof;
+    private boolean closed;
+    private IOException error;
+    private int generation;
+    private long firstByteNanos;
+    private int rangeRequests;
+
+    /**
+     * @param capacity ring buffer size in bytes.
+     * @param prefixBytes bytes which must be buffered before awaitPrefix() returns.
+     * @param cache optional cache to store the complete download.
+     */
+    public ProgressiveDownload(String url, int capacity, int prefixBytes, NetSoundCache cache) {
+        this.url = url;
+        this.ring = new byte[capacity];
+        this.keepBehind = capacity / 4;
+        this.prefixBytes = prefixBytes;
+        this.cache = cache;
+    }
+
+    public synchronized void start() {
+        startDownload(0);
+    }
+
+    /**
+     * Block until prefixBytes are buffered, the download ends or the timeout expires.
+     * @return true if playback can start.
+     */
+    public synchronized boolean awaitPrefix(long timeoutMilli) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMilli;
+        while (windowEnd < prefixBytes && !eof && error == null && !closed) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return error == null && windowEnd > 0;
+    }
+
+    /**
+     * Read bytes at absolute position, blocks until data is available.
+     * @return bytes read or -1 at end of content.
+     */
+    public synchronized int readAt(long position, byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (size >= 0 && position >= size) {
+            return -1;
+        }
+        if (position < windowStart || position > windowEnd + ring.length) {
+            // Seek outside buffered window.
+            rangeRequests++;
+            startDownload(position);
+        }
+        readPos = position;
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLI;
+        try {
+            while (position >= windowEnd && !eof && error == null && !closed) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IOException("Timeout reading " + url);
+                }
+                wait(remaining);
+            }
+        } catch (InterruptedException ex) {
+            throw new InterruptedIOException(ex.getMessage());
+        }
+        if (position >= windowEnd) {
+            if (error != null) {
+                throw error;
+            }
+            return -1;
+        }
+
+        int count = (int) Math.min(length, windowEnd - position);
+        int ringIdx = (int) (position % ring.length);
+        int first = Math.min(count, ring.length - ringIdx);
+        System.arraycopy(ring, ringIdx, buffer, offset, first);
+        if (first < count) {
+            System.arraycopy(ring, 0, buffer, offset + first, count - first);
+        }
+        readPos = position + count;
+        notifyAll();    // Writer may be waiting for space.
+        return count;
+    }
+
+    /**
+     * @return content length or -1 if not known yet.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized void close() {
+        closed = true;
+        generation++;
+        notifyAll();
+    }
+
+    /**
+     * @return milliseconds from creation to first downloaded byte, -1 if none yet.
+     */
+    public synchronized long getTimeToFirstByteMilli() {
+        return (firstByteNanos == 0) ? -1 : (firstByteNanos - createdNanos) / 1_000_000;
+    }
+
+    /**
+     * @return milliseconds since creation, used to time first audio.
+     */
+    public long getElapsedMilli() {
+        return (System.nanoTime() - createdNanos) / 1_000_000;
+    }
+
+    public synchronized int getRangeRequests() {
+        return rangeRequests;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void startDownload(long position) {
+        final int gen = ++generation;
+        windowStart = position;
+        windowEnd = position;
+        readPos = position;
+        eof = false;
+        error = null;
+        new Thread(() -> download(gen, position), "ProgressiveDownload").start();
+        notifyAll();
+    }
+
+    private void download(int gen, long position) {
+        HttpURLConnection conn = null;
+        File teeFile = null;
+        OutputStream tee = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MILLI);
+            conn.setReadTimeout(TIMEOUT_MILLI);
+            if (position > 0) {
+                conn.setRequestProperty("Range", "bytes=" + position + "-");
+            }
+            int code = conn.getResponseCode();
+            if (position > 0 && code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("Range not supported, HTTP " + code);
+            } else if (code != HttpURLConnection.HTTP_OK && code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("HTTP " + code + " " + url);
+            }
+
+            long contentLength = conn.getContentLengthLong();
+            synchronized (this) {
+                if (gen != generation) {
+                    return;
+                }
+                if (contentLength >= 0) {
+                    size = position + contentLength;
+                }
+            }
+
+            if (position == 0 && cache != null) {
+                teeFile = cache.createTempFile(url);
+                tee = new FileOutputStream(teeFile);
+            }
+
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int len;
+            try (InputStream in = conn.getInputStream()) {
+                while ((len = in.read(chunk)) > 0) {
+                    if (tee != null) {
+                        tee.write(chunk, 0, len);
+                    }
+                    if (!write(gen, chunk, len)) {
+                        return;     // Superseded by seek or closed.
+                    }
+                }
+            }
+
+            if (tee != null) {
+                tee.close();
+                tee = null;
+                cache.commit(url, teeFile, conn);
+                teeFile = null;
+            }
+            synchronized (this) {
+                if (gen == generation) {
+                    eof = true;
+                    size = windowEnd;
+                    notifyAll();
+                }
+            }
+        } catch (IOException | InterruptedException ex) {
+            synchronized (this) {
+                if (gen == generation) {
+                    error = (ex instanceof IOException) ? (IOException) ex : new InterruptedIOException(ex.getMessage());
+                    notifyAll();
+                }
+            }
+        } finally {
+            if (tee != null) {
+                try {
+                    tee.close();
+                } catch (IOException ignore) {
+                }
+            }
+            if (teeFile != null) {
+                //noinspection ResultOfMethodCallIgnored
+                teeFile.delete();
+            }
+            if (conn != null) {
+                conn.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Copy chunk into ring, waiting for the reader to free space.
+     * @return false if this download generation is no longer wanted.
+     */
+    private synchronized boolean write(int gen, byte[] chunk, int len) throws InterruptedException {
+        if (firstByteNanos == 0) {
+            firstByteNanos = System.nanoTime();
+        }
+        int done = 0;
+        while (done < len) {
+            if (gen != generation || closed) {
+                return false;
+            }
+            // Bytes before keepFrom may be overwritten.
+            long keepFrom = Math.min(Math.max(windowStart, readPos - keepBehind), windowEnd);
+            int free = (int) (ring.length - (windowEnd - keepFrom));
+            if (free <= 0) {
+                wait(TIMEOUT_MILLI);
+                continue;
+            }
+            int ringIdx = (int) (windowEnd % ring.length);
+            int count = Math.min(Math.min(len - done, free), ring.length - ringIdx);
+            System.arraycopy(chunk, done, ring, ringIdx, count);
+            done += count;
+            windowEnd += count;
+            windowStart = Math.max(windowStart, windowEnd - ring.length);
+            notifyAll();
+        }
+        return true;
+    }
+}
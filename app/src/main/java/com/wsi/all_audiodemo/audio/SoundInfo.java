@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precomputed metadata of one sound, and the binary catalog format holding them.
+ * <p>
+ * The catalog is written at build time by GenerateSoundCatalogTask and read at runtime
+ * by SoundLibrary, so duration, format and size are known without opening the file.
+ * Platform independent so the build task compiles the same class.
+ * <pre>
+ * Catalog, big endian:
+ *   int    MAGIC, short VERSION, short count
+ *   count x { utf name, utf category, int durationMilli, int sampleRate,
+ *             byte channels, int byteSize, short soundIndex, long contentHash }
+ * </pre>
+ * soundIndex is the position in the sorted res/raw name list, same as SoundIds.indexOf().
+ * contentHash (64-bit FNV-1a of the file) keys SoundStore, the build fails on duplicate content.
+ */
+@SuppressWarnings("unused")
+public final class SoundInfo {
+    public static final String CATALOG_ASSET = "sound_catalog.bin";
+    public static final int MAGIC = 0x53434154;   // SCAT
+    public static final int VERSION = 2;
+
+    // Build time transcoded 16-bit PCM copies, assets/pcm/{name}.wav, see TranscodeSoundsTask.
+    public static final String PCM_ASSET_DIR = "pcm";
+
+    public final String name;
+    public final String category;
+    public final int durationMilli;
+    public final int sampleRate;
+    public final int channelCount;
+    public final int byteSize;
+    public final int soundIndex;
+    public final long contentHash;
+
+    public SoundInfo(String name, String category, int durationMilli, int sampleRate,
+                     int channelCount, int byteSize, int soundIndex, long contentHash) {
+        this.name = name;
+        this.category = category;
+        this.durationMilli = durationMilli;
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+        this.byteSize = byteSize;
+        this.soundIndex = soundIndex;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * @return 64-bit FNV-1a hash of the sound file bytes.
+     */
+    public static long contentHash(byte[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte value : data) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @return asset path of the transcoded PCM copy, it only exists for short clips.
+     */
+    public static String pcmAssetPath(String name) {
+        return PCM_ASSET_DIR + "/" + name + ".wav";
+    }
+
+    /**
+     * @return name prefix up to the first underscore (ex: alert, animal, weather).
+     */
+    public static String categoryOf(String name) {
+        int idx = name.indexOf('_');
+        return (idx > 0) ? name.substring(0, idx) : name;
+    }
+
+    /**
+     * Read format of an mp3 or wav file, unknown formats keep zero duration and rate.
+     * Mp3 duration is gapless, without encoder delay and padding.
+     */
+    public static SoundInfo probe(String name, byte[] data, int soundIndex) {
+        int durationMilli = 0;
+        int sampleRate = 0;
+        int channels = 0;
+        if (data.length > 44 && data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F') {
+            ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            int pos = 12;
+            int byteRate = 0;
+            while (pos + 8 <= data.length) {
+                int chunkId = buffer.getInt(pos);
+                int chunkSize = buffer.getInt(pos + 4);
+                if (chunkSize < 0 || chunkSize > data.length - pos - 8
+                        || (chunkId == 0x20746d66 && chunkSize < 16)) {
+                    break;      // Corrupt or truncated, duration stays unknown.
+                }
+                if (chunkId == 0x20746d66) {            // "fmt "
+                    channels = buffer.getShort(pos + 10);
+                    sampleRate = buffer.getInt(pos + 12);
+                    byteRate = buffer.getInt(pos + 16);
+                } else if (chunkId == 0x61746164) {     // "data"
+                    if (byteRate > 0) {
+                        durationMilli = (int) (chunkSize * 1000L / byteRate);
+                    }
+                    break;
+                }
+                pos += 8 + chunkSize + (chunkSize & 1);
+            }
+        } else {
+            try {
+                Mp3Index index = Mp3Index.scan(ByteBuffer.wrap(data), Mp3Index.DEFAULT_FRAMES_PER_ENTRY);
+                sampleRate = index.sampleRate;
+                channels = index.channelCount;
+                durationMilli = index.getDurationMilli();
+            } catch (IOException ignore) {
+            }
+        }
+        return new SoundInfo(name, categoryOf(name), durationMilli, sampleRate, channels,
+                data.length, soundIndex, contentHash(data));
+    }
+
+    public static byte[] write(List<SoundInfo> sounds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(sounds.size());
+        for (SoundInfo sound : sounds) {
+            out.writeUTF(sound.name);
+            out.writeUTF(sound.category);
+            out.writeInt(sound.durationMilli);
+            out.writeInt(sound.sampleRate);
+            out.writeByte(sound.channelCount);
+            out.writeInt(sound.byteSize);
+            out.writeShort(sound.soundIndex);
+            out.writeLong(sound.contentHash);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static List<SoundInfo> read(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IOException("Not a sound catalog or wrong version");
+        }
+        int count = buffer.getShort() & 0xFFFF;
+        List<SoundInfo> sounds = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++) {
+            sounds.add(new SoundInfo(readUtf(buffer), readUtf(buffer), buffer.getInt(), buffer.getInt(),
+                    buffer.get() & 0xFF, buffer.getInt(), buffer.getShort() & 0xFFFF, buffer.getLong()));
+        }
+        return sounds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s %dms %dHz x%d %dB %016x", name, durationMilli, sampleRate,
+                channelCount, byteSize, contentHash);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Names are ascii, so modified UTF-8 from writeUTF decodes as plain UTF-8.
+     */
+    private static String readUtf(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RawRes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every sound with its precomputed metadata, from the generated assets/sound_catalog.bin.
+ * <p>
+ * The catalog is a few KB and is loaded on first use, off the main thread, after which
+ * the UI and engines get name, category, duration, format and size without opening
+ * the sound. Entries are in SoundIds order, so the raw id is a direct index.
+ * APK offsets are resolved separately by SoundStore, keyed by content hash.
+ */
+@SuppressWarnings("unused")
+public class SoundLibrary {
+    private static final String TAG = "SoundLibrary";
+
+    private static SoundLibrary instance;
+
+    private final Context appContext;
+    private final List<SoundInfo> sounds;
+    private final Map<String, SoundInfo> byName;
+
+    public static synchronized SoundLibrary getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new SoundLibrary(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SoundLibrary(Context appContext) {
+        this.appContext = appContext;
+        List<SoundInfo> loaded = Collections.emptyList();
+        long startMilli = System.currentTimeMillis();
+        try (InputStream in = appContext.getAssets().open(SoundInfo.CATALOG_ASSET)) {
+            loaded = SoundInfo.read(readAll(in));
+        } catch (IOException ex) {
+            Log.e(TAG, "Failed to load sound catalog " + ex.getMessage());
+        }
+        sounds = Collections.unmodifiableList(loaded);
+        byName = new HashMap<>(sounds.size() * 2);
+        for (SoundInfo sound : sounds) {
+            byName.put(sound.name, sound);
+        }
+        Log.d(TAG, "Loaded " + sounds.size() + " sounds in " + (System.currentTimeMillis() - startMilli) + "ms");
+    }
+
+    @NonNull
+    public List<SoundInfo> getAll() {
+        return sounds;
+    }
+
+    @Nullable
+    public SoundInfo get(@NonNull String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * @return sorted sound names, excluding categories in skipCategories.
+     */
+    @NonNull
+    public String[] getNames(@NonNull String... skipCategories) {
+        List<String> names = new ArrayList<>(sounds.size());
+        outer:
+        for (SoundInfo sound : sounds) {
+            for (String skip : skipCategories) {
+                if (skip.equals(sound.category)) {
+                    continue outer;
+                }
+            }
+            names.add(sound.name);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * @return categories in name order (ex: alert, animal, long, weather).
+     */
+    @NonNull
+    public Set<String> getCategories() {
+        Set<String> categories = new LinkedHashSet<>();
+        for (SoundInfo sound : sounds) {
+            categories.add(sound.category);
+        }
+        return categories;
+    }
+
+    /**
+     * @return duration or 0 if unknown.
+     */
+    public int getDurationMilli(@NonNull String name) {
+        SoundInfo sound = byName.get(name);
+        return (sound != null) ? sound.durationMilli : 0;
+    }
+
+    /**
+     * @return R.raw id of sound, direct index into SoundIds.
+     */
+    @RawRes
+    public static int getRawId(@NonNull SoundInfo sound) {
+        if (sound.soundIndex < SoundIds.size() && sound.name.equals(SoundIds.getName(sound.soundIndex))) {
+            return SoundIds.getIdAt(sound.soundIndex);
+        }
+        // Catalog and SoundIds built from different res/raw, fall back to search.
+        return SoundIds.getId(sound.name);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        // available() is only a hint, size the buffer from it but read until EOF.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 4096));
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.wsi.all_audiodemo.audio;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.system.Os;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single content addressed store of every sound, the res/raw/ copy in the APK.
+ * <p>
+ * Sounds used to be packaged twice, in res/raw/ and assets/sounds/. Now each clip is
+ * stored once, keyed by the content hash in the sound catalog, and both access styles
+ * resolve to the same bytes:
+ * <ul>
+ * <li> raw style, a resource id or android.resource:// uri, see getRawUri().
+ * <li> asset style, the shared APK file descriptor plus offset and length, see get().
+ * </ul>
+ * res/raw/ mp3 files are stored uncompressed, so their offsets are found once on a
+ * background thread and playback needs no per-play zip lookup. Names with the same
+ * content share one entry, the build fails on such duplicates so normally there are none.
+ * <pre>
+ *     SoundStore store = SoundStore.getInstance(context);
+ *     SoundStore.Entry entry = store.get(name);
+ *     mediaPlayer.setDataSource(store.getFileDescriptor(), entry.offset, entry.length);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class SoundStore {
+    private static final String TAG = "SoundStore";
+
+    private static SoundStore instance;
+
+    private final Context appContext;
+    private volatile Map<String, Entry> byName = Collections.emptyMap();
+    private volatile Map<Long, Entry> byHash = Collections.emptyMap();
+    private volatile ParcelFileDescriptor sharedFd;
+    private Thread loadThread;
+
+    public static synchronized SoundStore getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new SoundStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SoundStore(Context appContext) {
+        this.appContext = appContext;
+    }
+
+    /**
+     * Start building index on a background thread, safe to call more than once.
+     */
+    public synchronized void loadAsync() {
+        if (loadThread == null) {
+            loadThread = new Thread(this::load, TAG);
+            loadThread.start();
+        }
+    }
+
+    public boolean isLoaded() {
+        return sharedFd != null;
+    }
+
+    /**
+     * @return sound location or null if unknown or index not ready.
+     */
+    @Nullable
+    public Entry get(@NonNull String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * @return sound location by content hash (SoundInfo.contentHash) or null.
+     */
+    @Nullable
+    public Entry getByHash(long contentHash) {
+        return byHash.get(contentHash);
+    }
+
+    /**
+     * @return shared APK file descriptor, valid for every entry offset.
+     */
+    @Nullable
+    public FileDescriptor getFileDescriptor() {
+        ParcelFileDescriptor pfd = sharedFd;
+        return (pfd != null) ? pfd.getFileDescriptor() : null;
+    }
+
+    /**
+     * Open sound directly, for callers which can not wait for the index.
+     * @return descriptor to close or null if sound is unknown.
+     */
+    @Nullable
+    public AssetFileDescriptor openFd(@NonNull String name) {
+        int resId = SoundIds.getId(name);
+        return (resId == SoundIds.INVALID_ID) ? null : appContext.getResources().openRawResourceFd(resId);
+    }
+
+    /**
+     * @return android.resource:// uri of sound for players and notifications, or null if unknown.
+     */
+    @Nullable
+    public Uri getRawUri(@NonNull String name) {
+        int resId = SoundIds.getId(name);
+        if (resId == SoundIds.INVALID_ID) {
+            return null;
+        }
+        return Uri.parse(ContentResolver.SCHEME_ANDROID_RESOURCE + "://" + appContext.getPackageName() + "/" + resId);
+    }
+
+    /**
+     * @return number of names indexed.
+     */
+    public int size() {
+        return byName.size();
+    }
+
+    /**
+     * @return number of distinct sounds, less than size() if names share content.
+     */
+    public int getUniqueCount() {
+        return byHash.size();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void load() {
+        long startMilli = System.currentTimeMillis();
+        Map<String, Entry> names = new HashMap<>();
+        Map<Long, Entry> hashes = new HashMap<>();
+        ParcelFileDescriptor apkFd = null;
+        long apkInode = -1;
+
+        for (SoundInfo sound : SoundLibrary.getInstance(appContext).getAll()) {
+            Entry entry = hashes.get(sound.contentHash);
+            if (entry == null) {
+                AssetFileDescriptor afd = null;
+                try {
+                    afd = appContext.getResources().openRawResourceFd(SoundLibrary.getRawId(sound));
+                    long inode = Os.fstat(afd.getFileDescriptor()).st_ino;
+                    if (apkFd == null) {
+                        // Keep first descriptor open, it is shared by all entries.
+                        apkFd = afd.getParcelFileDescriptor();
+                        apkInode = inode;
+                    }
+                    if (inode != apkInode) {
+                        Log.w(TAG, sound.name + " is not in base APK, skipped");
+                        continue;
+                    }
+                    entry = new Entry(sound.contentHash, afd.getStartOffset(), afd.getLength());
+                    hashes.put(sound.contentHash, entry);
+                } catch (Exception ex) {
+                    // Compressed resources can not be opened as a file descriptor.
+                    Log.w(TAG, "Failed to index " + sound.name + " " + ex.getMessage());
+                    continue;
+                } finally {
+                    if (afd != null && afd.getParcelFileDescriptor() != apkFd) {
+                        try {
+                            afd.close();
+                        } catch (IOException ignore) {
+                        }
+                    }
+                }
+            }
+            names.put(sound.name, entry);
+        }
+
+        // Publish descriptor before entries, get() callers assume fd is valid.
+        sharedFd = apkFd;
+        byHash = hashes;
+        byName = names;
+        Log.d(TAG, "Indexed " + names.size() + " sounds, " + hashes.size() + " unique, in "
+                + (System.currentTimeMillis() - startMilli) + "ms");
+    }
+
+    // =============================================================================================
+    public static class Entry {
+        public final long contentHash;
+        public final long offset;
+        public final long length;
+
+        Entry(long contentHash, long offset, long length) {
+            this.contentHash = contentHash;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
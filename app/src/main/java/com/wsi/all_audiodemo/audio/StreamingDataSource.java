@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import android.media.MediaDataSource;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * MediaPlayer data source backed by a ProgressiveDownload ring buffer.
+ * <pre>
+ *     StreamingDataSource source = new StreamingDataSource(url, cache);
+ *     source.start();
+ *     source.getDownload().awaitPrefix(timeout);
+ *     mediaPlayer.setDataSource(source);
+ *     mediaPlayer.prepareAsync();
+ * </pre>
+ */
+public class StreamingDataSource extends MediaDataSource {
+
+    private final ProgressiveDownload download;
+
+    public StreamingDataSource(@NonNull String url, @Nullable NetSoundCache cache) {
+        this(url, ProgressiveDownload.DEFAULT_CAPACITY, ProgressiveDownload.DEFAULT_PREFIX, cache);
+    }
+
+    public StreamingDataSource(@NonNull String url, int capacity, int prefixBytes, @Nullable NetSoundCache cache) {
+        download = new ProgressiveDownload(url, capacity, prefixBytes, cache);
+    }
+
+    public void start() {
+        download.start();
+    }
+
+    @NonNull
+    public ProgressiveDownload getDownload() {
+        return download;
+    }
+
+    @Override
+    public int readAt(long position, byte[] buffer, int offset, int size) throws IOException {
+        return download.readAt(position, buffer, offset, size);
+    }
+
+    @Override
+    public long getSize() {
+        return download.getSize();
+    }
+
+    @Override
+    public void close() {
+        download.close();
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.notify;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per channel burst coalescing and rate limiting in front of NotifyUtil.
+ * <p>
+ * The first alert on a quiet channel is posted at once and opens a time window. Alerts
+ * arriving while the window is open are merged, when it closes they are posted as one
+ * summary notification with one sound. A token bucket per channel caps the post rate,
+ * a summary which finds the bucket empty waits for the next token and keeps merging,
+ * so bursts never exceed what Android accepts and no alert is silently lost.
+ * <p>
+ * Summary keeps at most MAX_SUMMARY_LINES names, extra names are left out of the text
+ * but still counted in the summary total (truncatedLines). No alert is discarded.
+ */
+@SuppressWarnings("unused")
+public class AlertCoalescer {
+    private static final String TAG = "AlertCoalescer";
+
+    public static final long DEFAULT_WINDOW_MILLI = 1500;
+    public static final int DEFAULT_BURST_TOKENS = 3;
+    public static final float DEFAULT_TOKENS_PER_SECOND = 1.0f;
+    public static final int MAX_SUMMARY_LINES = 5;
+
+    private static AlertCoalescer instance;
+
+    private final Context appContext;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ChannelState[] states;
+
+    private int postedCount;
+    private int mergedCount;
+    private int truncatedLines;
+
+    public static synchronized AlertCoalescer getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new AlertCoalescer(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AlertCoalescer(Context appContext) {
+        this.appContext = appContext;
+        NotifyChannels.Channel[] channels = NotifyChannels.Channel.values();
+        states = new ChannelState[channels.length];
+        for (NotifyChannels.Channel channel : channels) {
+            states[channel.ordinal()] = new ChannelState(channel);
+        }
+    }
+
+    /**
+     * Set merge window for channel, 0 only merges alerts queued before the main loop runs again.
+     */
+    public synchronized void setWindow(@NonNull NotifyChannels.Channel channel, long windowMilli) {
+        states[channel.ordinal()].windowMilli = windowMilli;
+    }
+
+    /**
+     * Set token bucket for channel.
+     * @param burstTokens     posts allowed back to back.
+     * @param tokensPerSecond sustained post rate.
+     */
+    public synchronized void setRateLimit(@NonNull NotifyChannels.Channel channel, int burstTokens, float tokensPerSecond) {
+        states[channel.ordinal()].bucket = new TokenBucket(burstTokens, tokensPerSecond);
+    }
+
+    /**
+     * Queue alert, posted now or merged into the channel's next summary.
+     */
+    public void submit(@NonNull NotifyChannels.Channel channel, @NonNull String assetName, boolean isForeground) {
+        Post post = null;
+        synchronized (this) {
+            ChannelState state = states[channel.ordinal()];
+            long nowMilli = SystemClock.elapsedRealtime();
+            state.add(assetName, isForeground);
+            if (!state.windowOpen) {
+                state.windowOpen = true;
+                if (state.bucket.tryAcquire(nowMilli)) {
+                    post = state.takePost();
+                    scheduleFlush(state, state.windowMilli);
+                } else {
+                    scheduleFlush(state, state.bucket.getWaitMilli(nowMilli));
+                }
+            }
+        }
+        if (post != null) {
+            post(post);
+        }
+    }
+
+    public synchronized int getPostedCount() {
+        return postedCount;
+    }
+
+    public synchronized int getMergedCount() {
+        return mergedCount;
+    }
+
+    public synchronized int getTruncatedLines() {
+        return truncatedLines;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "AlertCoalescer posted=%d merged=%d truncatedLines=%d",
+                postedCount, mergedCount, truncatedLines);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void scheduleFlush(ChannelState state, long delayMilli) {
+        handler.postDelayed(() -> flush(state), Math.max(0, delayMilli));
+    }
+
+    /**
+     * Window closed, post merged alerts or close window if channel went quiet.
+     */
+    private void flush(ChannelState state) {
+        Post post = null;
+        synchronized (this) {
+            long nowMilli = SystemClock.elapsedRealtime();
+            if (state.pending == 0) {
+                state.windowOpen = false;
+                return;
+            }
+            if (state.bucket.tryAcquire(nowMilli)) {
+                post = state.takePost();
+                // Keep window open, a storm usually continues past the first window.
+                scheduleFlush(state, state.windowMilli);
+            } else {
+                scheduleFlush(state, state.bucket.getWaitMilli(nowMilli));
+            }
+        }
+        if (post != null) {
+            post(post);
+        }
+    }
+
+    private void post(Post post) {
+        synchronized (this) {
+            postedCount++;
+            if (post.count > 1) {
+                mergedCount += post.count;
+            }
+        }
+        NotifyUtil.postSound(appContext, post.channel, post.assetName, post.isForeground, post.count, post.lines);
+        Log.d(TAG, post.channel + " " + post.count + " alerts, " + this);
+    }
+
+    // =============================================================================================
+    private class ChannelState {
+        final NotifyChannels.Channel channel;
+        long windowMilli = DEFAULT_WINDOW_MILLI;
+        TokenBucket bucket = new TokenBucket(DEFAULT_BURST_TOKENS, DEFAULT_TOKENS_PER_SECOND);
+        boolean windowOpen;
+
+        // Alerts waiting to be posted.
+        int pending;
+        String assetName;
+        boolean isForeground;
+        final ArrayList<String> lines = new ArrayList<>(MAX_SUMMARY_LINES);
+
+        ChannelState(NotifyChannels.Channel channel) {
+            this.channel = channel;
+        }
+
+        void add(String name, boolean foreground) {
+            pending++;
+            assetName = name;
+            isForeground = foreground;
+            if (lines.size() < MAX_SUMMARY_LINES) {
+                lines.add(name);
+            } else {
+                truncatedLines++;
+            }
+        }
+
+        Post takePost() {
+            Post post = new Post(channel, assetName, isForeground, pending, new ArrayList<>(lines));
+            pending = 0;
+            lines.clear();
+            return post;
+        }
+    }
+
+    // =============================================================================================
+    private static class Post {
+        final NotifyChannels.Channel channel;
+        final String assetName;
+        final boolean isForeground;
+        final int count;
+        final List<String> lines;
+
+        Post(NotifyChannels.Channel channel, String assetName, boolean isForeground, int count, List<String> lines) {
+            this.channel = channel;
+            this.assetName = assetName;
+            this.isForeground = isForeground;
+            this.count = count;
+            this.lines = lines;
+        }
+    }
+
+    // =============================================================================================
+    static class TokenBucket {
+        final int capacity;
+        final float tokensPerMilli;
+        float tokens;
+        long lastMilli;
+
+        TokenBucket(int capacity, float tokensPerSecond) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerMilli = tokensPerSecond / 1000f;
+            this.tokens = this.capacity;
+            this.lastMilli = SystemClock.elapsedRealtime();
+        }
+
+        boolean tryAcquire(long nowMilli) {
+            refill(nowMilli);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return milliseconds until next token.
+         */
+        long getWaitMilli(long nowMilli) {
+            refill(nowMilli);
+            if (tokens >= 1) {
+                return 0;
+            }
+            return tokensPerMilli > 0 ? (long) Math.ceil((1 - tokens) / tokensPerMilli) : DEFAULT_WINDOW_MILLI;
+        }
+
+        private void refill(long nowMilli) {
+            tokens = Math.min(capacity, tokens + (nowMilli - lastMilli) * tokensPerMilli);
+            lastMilli = nowMilli;
+        }
+    }
+}
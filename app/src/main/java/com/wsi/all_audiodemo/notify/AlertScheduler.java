@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.notify;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RawRes;
+
+import com.wsi.all_audiodemo.audio.AlertEngine;
+import com.wsi.all_audiodemo.audio.SoundIds;
+import com.wsi.all_audiodemo.audio.SoundLibrary;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Priority aware alert playback.
+ * <p>
+ * Alerts are queued by NotifyChannels.Priority and played one at a time through AlertEngine.
+ * A higher priority alert never waits behind a lower one: if the playing alert is at least
+ * PREEMPT_GAP levels lower it is stopped, otherwise it is ducked to DUCK_VOLUME and restored
+ * when the higher alert ends. Queued alerts older than their priority's deadline are dropped
+ * as stale and the queue is bounded by MAX_QUEUE_DEPTH, evicting the lowest priority first.
+ * <p>
+ * All scheduling runs on the scheduler thread. Wait time from play() to start is kept
+ * per priority.
+ */
+@SuppressWarnings("unused")
+public class AlertScheduler {
+    private static final String TAG = "AlertScheduler";
+
+    public static final int MAX_QUEUE_DEPTH = 8;
+    public static final int PREEMPT_GAP = 2;
+    public static final float DUCK_VOLUME = 0.3f;
+
+    // Used when sound is not in the catalog.
+    private static final int DEFAULT_DURATION_MILLI = 2000;
+
+    // Queue deadline, indexed by Priority ordinal (MIN, LOW, DEFAULT, HIGH).
+    private static final long[] DEADLINE_MILLI = {2000, 5000, 15000, Long.MAX_VALUE};
+
+    private static AlertScheduler instance;
+
+    private final Context appContext;
+    private final Handler handler;
+    private final PriorityQueue<Alert> queue = new PriorityQueue<>(MAX_QUEUE_DEPTH + 1, (a1, a2) ->
+            (a1.priority != a2.priority) ? a2.priority.compareTo(a1.priority) : Long.compare(a1.seq, a2.seq));
+    private long nextSeq;
+    private Alert playing;
+    private Alert ducked;
+
+    // Statistics, indexed by Priority ordinal.
+    private final int[] startedCount = new int[NotifyChannels.Priority.values().length];
+    private final long[] waitTotalMilli = new long[startedCount.length];
+    private final long[] waitMaxMilli = new long[startedCount.length];
+    private final int[] staleCount = new int[startedCount.length];
+    private int droppedCount;
+    private int preemptedCount;
+    private int duckedCount;
+
+    public static synchronized AlertScheduler getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new AlertScheduler(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AlertScheduler(Context appContext) {
+        this.appContext = appContext;
+        HandlerThread thread = new HandlerThread(TAG);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+    }
+
+    /**
+     * Queue res/raw/ sound at priority, never blocks.
+     */
+    public void play(@NonNull NotifyChannels.Priority priority, @RawRes int resId) {
+        long postMilli = SystemClock.elapsedRealtime();
+        handler.post(() -> enqueue(new Alert(priority, resId, postMilli, nextSeq++)));
+    }
+
+    /**
+     * Stop playing alerts and clear the queue.
+     */
+    public void stop() {
+        handler.post(() -> {
+            queue.clear();
+            stopAlert(ducked);
+            stopAlert(playing);
+            ducked = playing = null;
+        });
+    }
+
+    public synchronized long getAverageWaitMilli(@NonNull NotifyChannels.Priority priority) {
+        int idx = priority.ordinal();
+        return startedCount[idx] == 0 ? 0 : waitTotalMilli[idx] / startedCount[idx];
+    }
+
+    public synchronized long getMaxWaitMilli(@NonNull NotifyChannels.Priority priority) {
+        return waitMaxMilli[priority.ordinal()];
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("AlertScheduler");
+        for (NotifyChannels.Priority priority : NotifyChannels.Priority.values()) {
+            int idx = priority.ordinal();
+            sb.append(String.format(Locale.US, " %s[n=%d avg=%d max=%d stale=%d]",
+                    priority, startedCount[idx], getAverageWaitMilli(priority), waitMaxMilli[idx], staleCount[idx]));
+        }
+        sb.append(String.format(Locale.US, " preempted=%d ducked=%d dropped=%d",
+                preemptedCount, duckedCount, droppedCount));
+        return sb.toString();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private void enqueue(Alert alert) {
+        if (playing == null) {
+            start(alert);
+            return;
+        }
+
+        if (alert.priority.compareTo(playing.priority) > 0) {
+            int gap = alert.priority.ordinal() - playing.priority.ordinal();
+            if (gap >= PREEMPT_GAP || ducked != null) {
+                stopAlert(playing);
+                synchronized (this) {
+                    preemptedCount++;
+                }
+            } else {
+                AlertEngine.getInstance(appContext).setStreamVolume(playing.streamId, DUCK_VOLUME);
+                ducked = playing;
+                synchronized (this) {
+                    duckedCount++;
+                }
+            }
+            start(alert);
+            return;
+        }
+
+        queue.add(alert);
+        if (queue.size() > MAX_QUEUE_DEPTH) {
+            dropLowest();
+        }
+    }
+
+    private void start(Alert alert) {
+        long nowMilli = SystemClock.elapsedRealtime();
+        long waitMilli = nowMilli - alert.postMilli;
+        synchronized (this) {
+            int idx = alert.priority.ordinal();
+            startedCount[idx]++;
+            waitTotalMilli[idx] += waitMilli;
+            waitMaxMilli[idx] = Math.max(waitMaxMilli[idx], waitMilli);
+        }
+
+        playing = alert;
+        alert.streamId = AlertEngine.getInstance(appContext).start(alert.resId, 1.0f);
+        long durationMilli = (alert.streamId == 0) ? 0 : getDurationMilli(alert.resId);
+        handler.postDelayed(alert.onFinished, durationMilli);
+    }
+
+    private void finished(Alert alert) {
+        if (alert == ducked) {
+            ducked = null;
+            return;
+        }
+        if (alert != playing) {
+            return;
+        }
+        playing = null;
+
+        if (ducked != null) {
+            AlertEngine.getInstance(appContext).setStreamVolume(ducked.streamId, 1.0f);
+            playing = ducked;
+            ducked = null;
+            return;
+        }
+
+        long nowMilli = SystemClock.elapsedRealtime();
+        Alert next;
+        while ((next = queue.poll()) != null) {
+            if (nowMilli - next.postMilli > DEADLINE_MILLI[next.priority.ordinal()]) {
+                synchronized (this) {
+                    staleCount[next.priority.ordinal()]++;
+                }
+                continue;
+            }
+            start(next);
+            return;
+        }
+    }
+
+    private void stopAlert(Alert alert) {
+        if (alert != null) {
+            handler.removeCallbacks(alert.onFinished);
+            AlertEngine.getInstance(appContext).stopStream(alert.streamId);
+        }
+    }
+
+    /**
+     * Remove lowest priority, most recently queued alert.
+     */
+    private void dropLowest() {
+        Alert lowest = null;
+        for (Iterator<Alert> it = queue.iterator(); it.hasNext(); ) {
+            Alert alert = it.next();
+            if (lowest == null || alert.priority.compareTo(lowest.priority) < 0
+                    || (alert.priority == lowest.priority && alert.seq > lowest.seq)) {
+                lowest = alert;
+            }
+        }
+        queue.remove(lowest);
+        synchronized (this) {
+            droppedCount++;
+        }
+        Log.d(TAG, "Queue full, dropped " + lowest.priority + " alert");
+    }
+
+    /**
+     * Sound length from the generated catalog, SoundPool has no completion callback.
+     */
+    private int getDurationMilli(@RawRes int resId) {
+        String name = SoundIds.getNameForId(resId);
+        int durationMilli = (name != null) ? SoundLibrary.getInstance(appContext).getDurationMilli(name) : 0;
+        return (durationMilli > 0) ? durationMilli : DEFAULT_DURATION_MILLI;
+    }
+
+    // =============================================================================================
+    private class Alert {
+        final NotifyChannels.Priority priority;
+        final @RawRes int resId;
+        final long postMilli;
+        final long seq;
+        final Runnable onFinished = () -> finished(this);
+        int streamId;
+
+        Alert(NotifyChannels.Priority priority, @RawRes int resId, long postMilli, long seq) {
+            this.priority = priority;
+            this.resId = resId;
+            this.postMilli = postMilli;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.notify;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory registry of per sound notification channels.
+ * <p>
+ * A channel's sound can not change after creation, so each (Channel, sound) pair gets its
+ * own channel id. Channels are reused by id, and only when more than maxChannels exist is
+ * the least recently used one deleted. Lookups never call getNotificationChannel().
+ */
+@RequiresApi(26)
+public class ChannelPool {
+    private static final String TAG = "ChannelPool";
+
+    public static final int DEFAULT_MAX_CHANNELS = 8;
+
+    // Channel id to channel, in access order (eldest first).
+    private final LinkedHashMap<String, NotificationChannel> channels =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private int maxChannels;
+
+    private int hits;
+    private int creates;
+    private int evictions;
+
+    public ChannelPool(int maxChannels) {
+        this.maxChannels = maxChannels;
+    }
+
+    /**
+     * @return registered channel or null, moves channel to most recently used.
+     */
+    @Nullable
+    public synchronized NotificationChannel get(@NonNull String id) {
+        NotificationChannel channel = channels.get(id);
+        if (channel != null) {
+            hits++;
+        }
+        return channel;
+    }
+
+    /**
+     * Create channel with the system and register it, evicting the eldest when over capacity.
+     */
+    public synchronized void create(@NonNull NotificationManager notificationManager,
+                                    @NonNull NotificationChannel channel) {
+        notificationManager.createNotificationChannel(channel);
+        channels.put(channel.getId(), channel);
+        creates++;
+        trim(notificationManager);
+    }
+
+    /**
+     * Register channel which already exists in the system (ex: created by an earlier run).
+     */
+    public synchronized void register(@NonNull NotificationChannel channel) {
+        channels.put(channel.getId(), channel);
+    }
+
+    public synchronized void setMaxChannels(@NonNull NotificationManager notificationManager, int maxChannels) {
+        this.maxChannels = maxChannels;
+        trim(notificationManager);
+    }
+
+    public synchronized int size() {
+        return channels.size();
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "ChannelPool size=" + channels.size() + "/" + maxChannels
+                + " hits=" + hits + " creates=" + creates + " evictions=" + evictions;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    synchronized void trim(@NonNull NotificationManager notificationManager) {
+        Iterator<Map.Entry<String, NotificationChannel>> it = channels.entrySet().iterator();
+        while (channels.size() > maxChannels && it.hasNext()) {
+            String id = it.next().getKey();
+            it.remove();
+            // WARNING - Google does not like apps which delete channels, only done past the cap.
+            notificationManager.deleteNotificationChannel(id);
+            evictions++;
+            Log.d(TAG, "Evicted channel " + id);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.notify;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Bring the system's notification channels in line with the app's base channels.
+ * <p>
+ * The desired channels are fingerprinted and the fingerprint is kept in SharedPreferences.
+ * When it matches, nothing is sent to NotificationManager. Otherwise the existing
+ * channels are read once, missing channels are created in one batched
+ * createNotificationChannels() call and channels the app no longer declares are deleted
+ * (deletes have no batch API). Per sound pool channels and channels owned by
+ * NotifyService are never deleted.
+ * <p>
+ * The system ignores sound, vibration, lights and a raised importance when an existing id
+ * is created again, so a channel whose spec changed those fields is deleted and created
+ * under the next versioned id (ex: ALERTS_v2), the same way ChannelPool keys channels by
+ * sound. The fingerprint is only saved once a re-read shows the system matches.
+ */
+@RequiresApi(26)
+class ChannelReconciler {
+    private static final String TAG = "ChannelReconciler";
+
+    private static final String PREFS_NAME = "notify_channels";
+    private static final String KEY_FINGERPRINT = "specFingerprint";
+    private static final String KEY_VERSION = "version.";
+    private static final String KEY_SPEC = "spec.";
+    private static final String VERSION_SEPARATOR = "_v";
+
+    // Channels created outside of NotifyChannels.
+    private static final Set<String> KEEP_IDS = new HashSet<>(Arrays.asList(
+            NotifyService.NOTIFICATION_CHANNEL_ID
+    ));
+
+    private final SharedPreferences prefs;
+
+    ChannelReconciler(@NonNull Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @param desired  base channels the app declares, replaced by their versioned channel.
+     * @param isPooled true for channel ids managed by ChannelPool.
+     * @return channels read from the system, or null if fingerprint matched and nothing was read.
+     */
+    @Nullable
+    <K> List<NotificationChannel> reconcile(@NonNull NotificationManager notificationManager,
+                                            @NonNull Map<K, NotificationChannel> desired,
+                                            @NonNull Predicate<String> isPooled) {
+        long fingerprint = fingerprint(desired.values());
+        for (Map.Entry<K, NotificationChannel> entry : desired.entrySet()) {
+            String baseId = entry.getValue().getId();
+            int version = prefs.getInt(KEY_VERSION + baseId, 0);
+            if (version != 0) {
+                entry.setValue(copy(entry.getValue(), versionedId(baseId, version)));
+            }
+        }
+        if (prefs.getLong(KEY_FINGERPRINT, 0) == fingerprint) {
+            Log.d(TAG, "Channels unchanged, skipped");
+            return null;
+        }
+
+        List<NotificationChannel> existing = notificationManager.getNotificationChannels();
+        Map<String, NotificationChannel> existingById = new HashMap<>();
+        for (NotificationChannel channel : existing) {
+            existingById.put(channel.getId(), channel);
+        }
+
+        SharedPreferences.Editor editor = prefs.edit();
+        List<NotificationChannel> creates = new ArrayList<>();
+        Set<String> desiredIds = new HashSet<>();
+        int recreates = 0;
+        for (Map.Entry<K, NotificationChannel> entry : desired.entrySet()) {
+            NotificationChannel channel = entry.getValue();
+            String baseId = baseId(channel.getId());
+            long specHash = specHash(channel);
+            NotificationChannel current = existingById.get(channel.getId());
+            // Same spec as last sync means any difference is a user edit, keep it.
+            if (current != null && prefs.getLong(KEY_SPEC + baseId, 0) != specHash
+                    && needsRecreate(channel, current)) {
+                int version = prefs.getInt(KEY_VERSION + baseId, 0) + 1;
+                channel = copy(channel, versionedId(baseId, version));
+                entry.setValue(channel);
+                editor.putInt(KEY_VERSION + baseId, version);
+                current = null;
+                recreates++;
+            }
+            desiredIds.add(channel.getId());
+            // Name and lowered importance of an existing id are updated in place.
+            if (current == null || !isSame(channel, current)) {
+                creates.add(channel);
+            }
+        }
+
+        List<String> deletes = new ArrayList<>();
+        for (NotificationChannel channel : existing) {
+            String id = channel.getId();
+            if (!desiredIds.contains(id) && !KEEP_IDS.contains(id) && !isPooled.test(id)
+                    && !NotificationChannel.DEFAULT_CHANNEL_ID.equals(id)) {
+                notificationManager.deleteNotificationChannel(id);
+                deletes.add(id);
+            }
+        }
+        if (!creates.isEmpty()) {
+            notificationManager.createNotificationChannels(creates);
+        }
+
+        // Versions are kept either way, the next run retries a failed create under the same id.
+        List<NotificationChannel> current = notificationManager.getNotificationChannels();
+        if (matches(current, desiredIds, deletes)) {
+            for (NotificationChannel channel : desired.values()) {
+                editor.putLong(KEY_SPEC + baseId(channel.getId()), specHash(channel));
+            }
+            editor.putLong(KEY_FINGERPRINT, fingerprint);
+        } else {
+            Log.w(TAG, "Channels do not match after reconcile, will retry next run");
+        }
+        editor.apply();
+        Log.d(TAG, "Channels reconciled, created=" + creates.size() + " recreated=" + recreates
+                + " deleted=" + deletes.size());
+        return current;
+    }
+
+    /**
+     * Forget stored fingerprint so the next reconcile compares against the system.
+     */
+    void invalidate() {
+        prefs.edit().remove(KEY_FINGERPRINT).apply();
+    }
+
+    /**
+     * @return channel id without its version suffix, ex: ALERTS_v2 is ALERTS.
+     */
+    @NonNull
+    static String baseId(@NonNull String id) {
+        int pos = id.lastIndexOf(VERSION_SEPARATOR);
+        if (pos > 0 && pos + VERSION_SEPARATOR.length() < id.length()) {
+            for (int idx = pos + VERSION_SEPARATOR.length(); idx < id.length(); idx++) {
+                if (!Character.isDigit(id.charAt(idx))) {
+                    return id;
+                }
+            }
+            return id.substring(0, pos);
+        }
+        return id;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * FNV-1a 64 bit hash of the channel fields the app sets, in id order.
+     */
+    static long fingerprint(@NonNull Collection<NotificationChannel> channels) {
+        List<NotificationChannel> sorted = new ArrayList<>(channels);
+        sorted.sort((c1, c2) -> c1.getId().compareTo(c2.getId()));
+        StringBuilder sb = new StringBuilder();
+        sb.append(Build.VERSION.SDK_INT);
+        for (NotificationChannel channel : sorted) {
+            sb.append('|').append(baseId(channel.getId()));
+            appendSpec(sb, channel);
+        }
+        return fnv1a(sb);
+    }
+
+    private static long specHash(NotificationChannel channel) {
+        StringBuilder sb = new StringBuilder();
+        appendSpec(sb, channel);
+        return fnv1a(sb);
+    }
+
+    private static void appendSpec(StringBuilder sb, NotificationChannel channel) {
+        sb.append(',').append(channel.getName())
+                .append(',').append(channel.getImportance())
+                .append(',').append(channel.shouldVibrate())
+                .append(',').append(channel.shouldShowLights())
+                .append(',').append(channel.getLightColor())
+                .append(',').append(channel.getLockscreenVisibility())
+                .append(',').append(channel.getSound());
+    }
+
+    private static long fnv1a(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int idx = 0; idx < text.length(); idx++) {
+            hash ^= text.charAt(idx);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String versionedId(String baseId, int version) {
+        return baseId + VERSION_SEPARATOR + version;
+    }
+
+    /**
+     * @return true if desired differs in a field the system keeps for an existing id.
+     */
+    private static boolean needsRecreate(NotificationChannel desired, NotificationChannel current) {
+        return desired.shouldVibrate() != current.shouldVibrate()
+                || desired.shouldShowLights() != current.shouldShowLights()
+                || !Objects.equals(desired.getSound(), current.getSound())
+                || desired.getImportance() > current.getImportance();
+    }
+
+    private static boolean isSame(NotificationChannel desired, NotificationChannel current) {
+        return Objects.equals(String.valueOf(desired.getName()), String.valueOf(current.getName()))
+                && desired.getImportance() == current.getImportance()
+                && !needsRecreate(desired, current);
+    }
+
+    private static boolean matches(List<NotificationChannel> channels, Set<String> desiredIds, List<String> deletedIds) {
+        Set<String> ids = new HashSet<>();
+        for (NotificationChannel channel : channels) {
+            ids.add(channel.getId());
+        }
+        if (!ids.containsAll(desiredIds)) {
+            return false;
+        }
+        for (String id : deletedIds) {
+            if (ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static NotificationChannel copy(NotificationChannel from, String id) {
+        NotificationChannel to = new NotificationChannel(id, from.getName(), from.getImportance());
+        to.setDescription(from.getDescription());
+        to.setGroup(from.getGroup());
+        to.enableLights(from.shouldShowLights());
+        to.setLightColor(from.getLightColor());
+        to.enableVibration(from.shouldVibrate());
+        to.setVibrationPattern(from.getVibrationPattern());
+        to.setLockscreenVisibility(from.getLockscreenVisibility());
+        to.setShowBadge(from.canShowBadge());
+        to.setSound(from.getSound(), from.getAudioAttributes());
+        return to;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.notify;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Typed in-process event bus, replaces LocalBroadcastManager between service, manager and activity.
+ * <p>
+ * Events are plain objects matched by exact class, no Intent or action string. Each event
+ * class has a copy-on-write subscriber array swapped with compare-and-set, so post() takes
+ * no lock and only allocates the executor task. Each subscriber picks the
+ * executor its listener runs on: DIRECT runs inside post(), like sendBroadcastSync(), and
+ * MAIN posts to the main thread.
+ * <p>
+ * BroadcastReceivers are still used for triggers from other processes, such as
+ * notification PendingIntents.
+ * <pre>
+ *     EventBus.Subscription sub = EventBus.getInstance().subscribe(MyEvent.class, EventBus.MAIN, event -> ...);
+ *     EventBus.getInstance().post(new MyEvent());
+ *     EventBus.getInstance().unsubscribe(sub);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class EventBus {
+    private static final String TAG = "EventBus";
+
+    public static final Executor DIRECT = Runnable::run;
+    public static final Executor MAIN = new Handler(Looper.getMainLooper())::post;
+
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private static EventBus instance;
+
+    private final ConcurrentHashMap<Class<?>, AtomicReference<Subscription[]>> subscribers = new ConcurrentHashMap<>();
+
+    public static synchronized EventBus getInstance() {
+        if (instance == null) {
+            instance = new EventBus();
+        }
+        return instance;
+    }
+
+    private EventBus() {
+    }
+
+    /**
+     * Receive events of exactly eventClass on executor until unsubscribed.
+     */
+    @NonNull
+    public <E> Subscription subscribe(@NonNull Class<E> eventClass, @NonNull Executor executor,
+                                      @NonNull Listener<? super E> listener) {
+        Subscription subscription = new Subscription(eventClass, executor, listener);
+        AtomicReference<Subscription[]> ref =
+                subscribers.computeIfAbsent(eventClass, key -> new AtomicReference<>(EMPTY));
+        Subscription[] current;
+        Subscription[] updated;
+        do {
+            current = ref.get();
+            updated = new Subscription[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = subscription;
+        } while (!ref.compareAndSet(current, updated));
+        return subscription;
+    }
+
+    /**
+     * Stop delivery, events already handed to the executor may still arrive.
+     */
+    public void unsubscribe(@NonNull Subscription subscription) {
+        subscription.active = false;
+        AtomicReference<Subscription[]> ref = subscribers.get(subscription.eventClass);
+        if (ref == null) {
+            return;
+        }
+        Subscription[] current;
+        Subscription[] updated;
+        do {
+            current = ref.get();
+            int idx = indexOf(current, subscription);
+            if (idx < 0) {
+                return;
+            }
+            updated = (current.length == 1) ? EMPTY : new Subscription[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, idx);
+            System.arraycopy(current, idx + 1, updated, idx, current.length - idx - 1);
+        } while (!ref.compareAndSet(current, updated));
+    }
+
+    /**
+     * Deliver event to every subscriber of its class.
+     * @return number of subscribers the event was dispatched to.
+     */
+    public int post(@NonNull Object event) {
+        AtomicReference<Subscription[]> ref = subscribers.get(event.getClass());
+        if (ref == null) {
+            return 0;
+        }
+        Subscription[] current = ref.get();
+        for (Subscription subscription : current) {
+            subscription.dispatch(event);
+        }
+        return current.length;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static int indexOf(Subscription[] subscriptions, Subscription subscription) {
+        for (int idx = 0; idx < subscriptions.length; idx++) {
+            if (subscriptions[idx] == subscription) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+
+    // =============================================================================================
+    public interface Listener<E> {
+        void onEvent(@NonNull E event);
+    }
+
+    // =============================================================================================
+    public static final class Subscription {
+        final Class<?> eventClass;
+        final Executor executor;
+        final Listener<Object> listener;
+        volatile boolean active = true;
+
+        @SuppressWarnings("unchecked")
+        Subscription(Class<?> eventClass, Executor executor, Listener<?> listener) {
+            this.eventClass = eventClass;
+            this.executor = executor;
+            // Only events of eventClass are dispatched, see post().
+            this.listener = (Listener<Object>) listener;
+        }
+
+        void dispatch(Object event) {
+            executor.execute(() -> {
+                if (active) {
+                    try {
+                        listener.onEvent(event);
+                    } catch (RuntimeException ex) {
+                        Log.e(TAG, "Listener failed on " + eventClass.getSimpleName(), ex);
+                    }
+                }
+            });
+        }
+    }
+}
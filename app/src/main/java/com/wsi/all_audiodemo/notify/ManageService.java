@@ -22,18 +22,16 @@ package com.wsi.all_audiodemo.notify;
 
 import android.app.Activity;
 import android.app.Application;
-import android.content.BroadcastReceiver;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.ServiceConnection;
 import android.os.Bundle;
 import android.os.IBinder;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
+import androidx.annotation.Nullable;
 
 
 /**
@@ -47,6 +45,7 @@ public class ManageService {
             0, 0, 0, 0, false, false, "");
 
     private NotifyService overlayService;
+    private ServicePlayer player;
 
     // ---------------------------------------------------------------------------------------------
     final ServiceConnection serviceConnection = new ServiceConnection() {
@@ -56,6 +55,7 @@ public class ManageService {
             // We've bound to AlertService, cast the IBinder and get AlertService instance
             NotifyService.LocalBinder binder = (NotifyService.LocalBinder) service;
             overlayService = binder.getService();
+            player = binder.getPlayer();
             overlayService.updateNotification();
             overlayService.startTimer();
         }
@@ -73,35 +73,46 @@ public class ManageService {
     private boolean unBindRequestReceived;
 
 
+    private EventBus.Subscription unbindSubscription;
+
     // ---------------------------------------------------------------------------------------------
-    final BroadcastReceiver receiver = new BroadcastReceiver() {
-        @Override
-        public void onReceive(Context context, Intent intent) {
-            if (NotifyService.ACTION_UNBIND.equals(intent.getAction())) {
-                Log.d(TAG, "Notify Service unbind request received");
-                unBindRequestReceived = true;
-                unbindFromDebugOverlayService();
-            }
-        }
-    };
+    private void onUnbindEvent(@NonNull NotifyService.UnbindEvent event) {
+        Log.d(TAG, "Notify Service unbind request received");
+        unBindRequestReceived = true;
+        unbindFromDebugOverlayService();
+    }
 
     public ManageService(Application application) {
         this.application = application;
     }
 
+    /**
+     * Register activity lifecycle callbacks, cheap so call from onCreate() before the
+     * activity is started, else the foreground count misses it.
+     */
     public void install() {
         if (installed) {
             throw new IllegalStateException("install() can be called only once!");
         }
 
-        startAndBindDebugOverlayService();
-
         activityLifecycleHandler = new ActivityLifecycleHandler();
         application.registerActivityLifecycleCallbacks(activityLifecycleHandler);
 
         installed = true;
     }
 
+    /**
+     * Start and bind the service, can be deferred until after the first frame.
+     */
+    public void start() {
+        if (!installed) {
+            throw new IllegalStateException("install() must be called before start()");
+        }
+        if (overlayService == null && unbindSubscription == null) {
+            startAndBindDebugOverlayService();
+        }
+    }
+
     // @VisibleForTesting(otherwise = VisibleForTesting.NONE)
     public void uninstall() {
         unbindFromDebugOverlayService();
@@ -110,6 +121,14 @@ public class ManageService {
         installed = false;
     }
 
+    /**
+     * @return playback engine of the bound service, null until bound.
+     */
+    @Nullable
+    public ServicePlayer getPlayer() {
+        return player;
+    }
+
     private void startAndBindDebugOverlayService() {
         // start & bind AlertService
         Intent intent = new Intent(application, NotifyService.class);
@@ -118,24 +137,27 @@ public class ManageService {
         bindToDebugOverlayService();
     }
 
-    @SuppressWarnings("deprecation")
     private void bindToDebugOverlayService() {
         boolean bound = application.bindService(NotifyService.createIntent(application),
                 serviceConnection, Context.BIND_AUTO_CREATE);
         if (!bound) {
             throw new RuntimeException("Could not bind the AlertService");
         }
-        LocalBroadcastManager.getInstance(application)
-                .registerReceiver(receiver, new IntentFilter(NotifyService.ACTION_UNBIND));
+        // Direct, the service posts while it is being removed, same as sendBroadcastSync().
+        unbindSubscription = EventBus.getInstance().subscribe(NotifyService.UnbindEvent.class,
+                EventBus.DIRECT, this::onUnbindEvent);
     }
 
-    @SuppressWarnings("deprecation")
     private void unbindFromDebugOverlayService() {
         if (overlayService != null) {
             application.unbindService(serviceConnection);
             overlayService = null;
+            player = null;
+        }
+        if (unbindSubscription != null) {
+            EventBus.getInstance().unsubscribe(unbindSubscription);
+            unbindSubscription = null;
         }
-        LocalBroadcastManager.getInstance(application).unregisterReceiver(receiver);
     }
 
     // =============================================================================================
@@ -162,8 +184,9 @@ public class ManageService {
         public void onActivityResumed(Activity activity) {
             Log.i(TAG, "onResume():" + activity.getClass().getSimpleName());
 
+            // Service only subscribes while bound, refresh runs here on the main thread.
             if (overlayService != null) {
-                overlayService.updateNotification();
+                EventBus.getInstance().post(NotifyService.ShowNotificationEvent.INSTANCE);
             }
         }
 
@@ -28,7 +28,6 @@ import android.app.NotificationManager;
 import android.content.Context;
 import android.graphics.Color;
 import android.media.AudioAttributes;
-import android.media.MediaPlayer;
 import android.net.Uri;
 import android.os.Build;
 import android.os.PowerManager;
@@ -42,6 +41,7 @@ import androidx.annotation.RawRes;
 import androidx.annotation.RequiresApi;
 
 import com.wsi.all_audiodemo.R;
+import com.wsi.all_audiodemo.audio.AlertEngine;
 
 import java.util.HashMap;
 import java.util.List;
@@ -63,6 +63,11 @@ public class NotifyChannels {
             new ChannelSpec(Channel.BANNER, "Banner", Priority.LOW),
     };
     private static final Map<Channel, ChannelSpec> CHANNEL_SPEC_MAP = new HashMap<>();
+    // Base channels created by initChannels, avoids getNotificationChannel IPC per notify.
+    private static final Map<Channel, NotificationChannel> BASE_CHANNELS = new HashMap<>();
+    // Per (Channel, sound) channels used by channels which let the notification play the sound.
+    private static ChannelPool channelPool;
+    private static boolean channelsReady;
 
     public static final @RawRes int INVALID_RES_ID = -1;
 
@@ -70,38 +75,103 @@ public class NotifyChannels {
         return (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O);
     }
 
+    /**
+     * Create channels, safe to call from any thread and more than once.
+     * Called from a background thread at startup and again on first use.
+     * ChannelReconciler skips all NotificationManager calls when the channel specs are
+     * unchanged since the last run.
+     */
     // @RequiresApi(24)
+    synchronized
     public static void initChannels(Context context) {
 
-        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
-            NotificationManager notificationManager =
-                    getServiceSafe(context, Context.NOTIFICATION_SERVICE);
-
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O && !channelsReady) {
             for (ChannelSpec channelSpec : CHANNEL_SPECS) {
                 NotificationChannel notificationChannel = createChannel(context, channelSpec, INVALID_RES_ID);
-                notificationManager.createNotificationChannel(notificationChannel);
                 CHANNEL_SPEC_MAP.put(channelSpec.id, channelSpec);
+                BASE_CHANNELS.put(channelSpec.id, notificationChannel);
+                if (channelSpec.appSound && channelSpec.soundRes != INVALID_RES_ID) {
+                    AlertEngine.getInstance(context).preload(channelSpec.soundRes);
+                }
+            }
+
+            NotificationManager notificationManager =
+                    getServiceSafe(context, Context.NOTIFICATION_SERVICE);
+            List<NotificationChannel> existing = new ChannelReconciler(context)
+                    .reconcile(notificationManager, BASE_CHANNELS, NotifyChannels::isSoundChannelId);
+            if (existing != null) {
+                // Already read the system channels, seed the pool now instead of on first use.
+                seedChannelPool(notificationManager, existing);
+            }
+            channelsReady = true;
+        }
+    }
+
+    /**
+     * Pool of per sound channels, seeded on first use so an unchanged startup makes no IPC.
+     */
+    @RequiresApi(26)
+    private static ChannelPool getChannelPool(Context context) {
+        if (channelPool == null) {
+            NotificationManager notificationManager =
+                    getServiceSafe(context, Context.NOTIFICATION_SERVICE);
+            seedChannelPool(notificationManager, notificationManager.getNotificationChannels());
+        }
+        return channelPool;
+    }
+
+    /**
+     * Adopt sound channels left by earlier runs so they are reused or evicted.
+     */
+    @RequiresApi(26)
+    private static void seedChannelPool(NotificationManager notificationManager, List<NotificationChannel> existing) {
+        channelPool = new ChannelPool(ChannelPool.DEFAULT_MAX_CHANNELS);
+        for (NotificationChannel channel : existing) {
+            if (isSoundChannelId(channel.getId())) {
+                channelPool.register(channel);
             }
         }
+        channelPool.trim(notificationManager);
     }
 
+    /**
+     * Set maximum number of per sound channels kept before least recently used are deleted.
+     */
     @RequiresApi(26)
-    private static void deleteChannel(Context context, ChannelSpec channelSpec) {
+    synchronized
+    public static void setMaxSoundChannels(Context context, int maxChannels) {
+        initChannels(context);
         NotificationManager notificationManager =
                 getServiceSafe(context, Context.NOTIFICATION_SERVICE);
-        notificationManager.deleteNotificationChannel(channelSpec.getId());
+        getChannelPool(context).setMaxChannels(notificationManager, maxChannels);
+    }
+
+    /**
+     * @return true if id is a per sound channel, enum name followed by a sound resource id.
+     */
+    static boolean isSoundChannelId(String id) {
+        for (Channel channel : Channel.values()) {
+            String prefix = channel.name();
+            if (id.length() > prefix.length() && id.startsWith(prefix)) {
+                for (int idx = prefix.length(); idx < id.length(); idx++) {
+                    if (!Character.isDigit(id.charAt(idx))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
     }
 
     @RequiresApi(26)
     private static NotificationChannel createChannel(
             Context context, ChannelSpec channelSpec, @RawRes int soundOverrideRes) {
 
-        if (soundOverrideRes != INVALID_RES_ID) {
-            channelSpec.soundRes = soundOverrideRes;
-        }
+        @RawRes int soundRes = (soundOverrideRes != INVALID_RES_ID) ? soundOverrideRes : channelSpec.soundRes;
 
         NotificationChannel notificationChannel =
-                new NotificationChannel(channelSpec.getId(), channelSpec.name,
+                new NotificationChannel(channelSpec.getId(soundRes), channelSpec.name,
                         channelSpec.importance);
 
         notificationChannel.enableLights(channelSpec.color != 0);
@@ -109,9 +179,9 @@ public class NotifyChannels {
         notificationChannel.enableVibration(channelSpec.vibrate);
         notificationChannel.setLockscreenVisibility(Notification.VISIBILITY_PUBLIC);
 
-        if (channelSpec.soundRes != INVALID_RES_ID) {
+        if (soundRes != INVALID_RES_ID) {
             Uri soundUri = Uri.parse("android.resource://" + context.getPackageName() + "/"
-                    + channelSpec.soundRes);
+                    + soundRes);
             AudioAttributes audioAttributes = new AudioAttributes.Builder()
                     .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
                     .setUsage(AudioAttributes.USAGE_NOTIFICATION_EVENT)
@@ -125,31 +195,33 @@ public class NotifyChannels {
     @RequiresApi(26)
     synchronized
     public static NotificationChannel setSound(Context context, Channel channel, @RawRes int soundRes) {
-        NotificationManager notificationManager =
-                getServiceSafe(context, Context.NOTIFICATION_SERVICE);
+        initChannels(context);
         ChannelSpec channelSpec = CHANNEL_SPEC_MAP.get(channel);
-        NotificationChannel notificationChannel = notificationManager.getNotificationChannel(channelSpec.getId());
 
         if (channelSpec.appSound) {
             channelSpec.soundRes = soundRes;
-        } else {
-            // Recreate the channel to get new sound set (new channel has new unique id per sound).
-            // WARNING - Google does not like apps which delete and re-create channels.
-            deleteChannel(context, channelSpec);
-            // TODO - copy some values from original channel into new channel.
+            AlertEngine.getInstance(context).preload(soundRes);
+            return BASE_CHANNELS.get(channel);
+        }
+
+        // Channel sound can not be changed, so use one channel per (channel, sound) pair.
+        ChannelPool pool = getChannelPool(context);
+        NotificationChannel notificationChannel = pool.get(channelSpec.getId(soundRes));
+        if (notificationChannel == null) {
+            NotificationManager notificationManager =
+                    getServiceSafe(context, Context.NOTIFICATION_SERVICE);
             notificationChannel = createChannel(context, channelSpec, soundRes);
+            pool.create(notificationManager, notificationChannel);
 
             if (false) {
                 List<NotificationChannel> channels = notificationManager.getNotificationChannels();
-                Log.d("channel", "Channels=" + channels.size());
+                Log.d("channel", "Channels=" + channels.size() + " " + pool);
                 StatusBarNotification[] activeNotifications =
                         notificationManager.getActiveNotifications();
                 if (activeNotifications != null) {
                     Log.d("channel", "Active notifications=" + activeNotifications.length);
                 }
             }
-
-            notificationManager.createNotificationChannel(notificationChannel);
         }
 
         return notificationChannel;
@@ -161,25 +233,24 @@ public class NotifyChannels {
                 getServiceSafe(context, Context.NOTIFICATION_SERVICE);
         notificationManager.notify(notificationId, notification);
         try {
-            Channel channel = Channel.valueOf(notification.getChannelId());
+            Channel channel = Channel.valueOf(ChannelReconciler.baseId(notification.getChannelId()));
             ChannelSpec channelSpec = CHANNEL_SPEC_MAP.get(channel);
             if (channelSpec.appSound) {
-                playAppSound(context, channelSpec.soundRes);
+                playAppSound(context, channelSpec);
             }
         } catch (Exception ignore) {
         }
     }
 
-    private static void playAppSound(Context context, @RawRes int soundRes) {
-        Uri soundUri = Uri.parse("android.resource://" + context.getPackageName() + "/" + soundRes);
-        // mSoundName.setText(path);
-
-        MediaPlayer mediaPlayer = new MediaPlayer();
-        try {
-            mediaPlayer.setDataSource(context, soundUri);
-            mediaPlayer.prepare();
-            mediaPlayer.start();
-        } catch (Exception ignore) {
+    /**
+     * Play through the shared AlertEngine voice bank, no player is created per notification.
+     * AlertScheduler orders overlapping alerts by channel priority. While NotifyService is
+     * alive the play is queued on its ServicePlayer, off the caller's thread.
+     */
+    private static void playAppSound(Context context, ChannelSpec channelSpec) {
+        ServicePlayer player = ServicePlayer.getActive();
+        if (player == null || !player.play(channelSpec.priority, channelSpec.soundRes)) {
+            AlertScheduler.getInstance(context).play(channelSpec.priority, channelSpec.soundRes);
         }
     }
 
@@ -281,9 +352,13 @@ public class NotifyChannels {
         }
 
         String getId() {
+            return getId(this.soundRes);
+        }
+
+        String getId(@RawRes int soundRes) {
             // If sound played by app, then channel id is enum name.
             // If notification playing sound, then channel id is unique for enum and sound.
-            return appSound ? id.name() : (id.name() + this.soundRes);
+            return appSound ? id.name() : (id.name() + soundRes);
         }
 
         private void common(Channel id, String name, Priority priority) {
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.notify;
+
+import android.app.Notification;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.content.res.AppCompatResources;
+import androidx.core.app.NotificationCompat;
+
+import com.wsi.all_audiodemo.R;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Build alert notifications from cached parts.
+ * <p>
+ * The large icon bitmap is decoded once, PendingIntents and their actions are cached per
+ * (audio, action) and one builder template is kept per channel, so posting an alert only
+ * sets the fields which change.
+ * <p>
+ * Allocation and IPC counts are estimates, not measurements: each cached part created
+ * and each Notification built counts as one allocation (ignoring the objects the platform
+ * allocates inside them), and each PendingIntent lookup or notify() counts as one IPC.
+ * They show which parts a build had to create, not heap or binder traffic.
+ */
+@SuppressWarnings("unused")
+public class NotifyFactory {
+    private static final String TAG = "NotifyFactory";
+
+    public static final String ACTION_REPLAY = "replay";
+    public static final String ACTION_NEXT = "next";
+
+    private static NotifyFactory instance;
+
+    private final Context appContext;
+    private Bitmap largeIcon;
+    private final Map<String, PendingIntent> pendingIntents = new HashMap<>();
+    private final Map<String, NotificationCompat.Action> actions = new HashMap<>();
+    private final Map<String, NotificationCompat.Builder> builders = new HashMap<>();
+
+    // Estimated counts for last build() and running totals, see class comment.
+    private int lastAllocations;
+    private int lastIpcs;
+    private int totalBuilds;
+    private int totalAllocations;
+    private int totalIpcs;
+
+    public static synchronized NotifyFactory getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new NotifyFactory(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private NotifyFactory(Context appContext) {
+        this.appContext = appContext;
+    }
+
+    /**
+     * Build alert notification, reusing the channel's builder template.
+     *
+     * @param count number of alerts merged into this notification, summary style if more than one.
+     * @param lines alert names listed in the summary.
+     */
+    @NonNull
+    public synchronized Notification build(@NonNull String channelId, @NonNull String assetName,
+                                           @NonNull Uri soundUri, boolean isForeground,
+                                           int count, @NonNull List<String> lines) {
+        lastAllocations = 0;
+        lastIpcs = 0;
+
+        NotificationCompat.Builder builder = builders.get(channelId);
+        if (builder == null) {
+            // Fields which never change are set once on the template.
+            builder = new NotificationCompat.Builder(appContext, channelId)
+                    .setContentTitle("Played sound")
+                    .setSmallIcon(R.mipmap.ic_launcher)
+                    .setLargeIcon(getLargeIcon());
+            builders.put(channelId, builder);
+            lastAllocations++;
+        }
+
+        PendingIntent pendingIntent = getPendingIntent(assetName, ACTION_REPLAY);
+        String contentText = (isForeground ? "Foreground" : "Background") + " sound " + assetName;
+        if (count > 1) {
+            NotificationCompat.InboxStyle inboxStyle = new NotificationCompat.InboxStyle()
+                    .setBigContentTitle(count + " alerts");
+            for (String line : lines) {
+                inboxStyle.addLine(line);
+            }
+            if (count > lines.size()) {
+                inboxStyle.setSummaryText("+" + (count - lines.size()) + " more");
+            }
+            builder.setStyle(inboxStyle).setNumber(count);
+            contentText = count + " alerts, last " + assetName;
+            lastAllocations++;
+        } else {
+            builder.setStyle(null).setNumber(0);
+        }
+
+        builder
+                .setContentText(contentText)
+                .setContentIntent(pendingIntent)
+                .setSound(soundUri)                 // This sets the sound to play
+                .clearActions()
+                .addAction(getAction(assetName, ACTION_REPLAY, "Replay"))
+                .addAction(getAction(assetName, ACTION_NEXT, "Next"));
+
+        Notification notification = builder.build();
+        lastAllocations++;
+
+        totalBuilds++;
+        totalAllocations += lastAllocations;
+        totalIpcs += lastIpcs;
+        return notification;
+    }
+
+    /**
+     * Count an estimated IPC made by the caller for this alert (ex: NotificationManager.notify).
+     */
+    public synchronized void countIpc() {
+        lastIpcs++;
+        totalIpcs++;
+    }
+
+    public synchronized int getLastAllocations() {
+        return lastAllocations;
+    }
+
+    public synchronized int getLastIpcs() {
+        return lastIpcs;
+    }
+
+    /**
+     * Drop cached parts, ex: after a configuration change alters the launcher icon.
+     */
+    public synchronized void clear() {
+        largeIcon = null;
+        pendingIntents.clear();
+        actions.clear();
+        builders.clear();
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "NotifyFactory est. last allocs=%d ipc=%d, total builds=%d allocs=%d ipc=%d",
+                lastAllocations, lastIpcs, totalBuilds, totalAllocations, totalIpcs);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    @Nullable
+    private Bitmap getLargeIcon() {
+        if (largeIcon == null) {
+            Drawable drawable = AppCompatResources.getDrawable(appContext, R.mipmap.ic_launcher);
+            if (drawable instanceof BitmapDrawable) {
+                largeIcon = ((BitmapDrawable) drawable).getBitmap();
+                lastAllocations++;
+            } else {
+                Log.w(TAG, "Launcher icon is not a bitmap");
+            }
+        }
+        return largeIcon;
+    }
+
+    @Nullable
+    private PendingIntent getPendingIntent(String audio, String action) {
+        String key = action + "/" + audio;
+        PendingIntent pendingIntent = pendingIntents.get(key);
+        if (pendingIntent == null) {
+            pendingIntent = NotifyUtil.getPendingAction(appContext, audio, action);
+            lastAllocations++;
+            lastIpcs++;     // PendingIntent.getActivity goes to ActivityManager.
+            if (pendingIntent != null) {
+                pendingIntents.put(key, pendingIntent);
+            }
+        }
+        return pendingIntent;
+    }
+
+    @NonNull
+    private NotificationCompat.Action getAction(String audio, String action, String title) {
+        String key = action + "/" + audio;
+        NotificationCompat.Action notifyAction = actions.get(key);
+        if (notifyAction == null) {
+            notifyAction = new NotificationCompat.Action(R.drawable.replay_button, title,
+                    getPendingIntent(audio, action));
+            actions.put(key, notifyAction);
+            lastAllocations++;
+        }
+        return notifyAction;
+    }
+}
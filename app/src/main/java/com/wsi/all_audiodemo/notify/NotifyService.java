@@ -45,31 +45,34 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import androidx.core.app.NotificationCompat;
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.wsi.all_audiodemo.R;
 
 /**
- * Background service.
+ * Background service, host of the ServicePlayer playback engine.
+ * <p>
+ * Bound clients get the player from LocalBinder, app-sound notification channels find it
+ * with ServicePlayer.getActive() while the service is alive.
  * @see ManageService
  */
 public class NotifyService extends Service {
 
     private static final String TAG = "AAD AlertService";
 
-    private static final String NOTIFICATION_CHANNEL_ID = "audiodemo-service";
+    static final String NOTIFICATION_CHANNEL_ID = "audiodemo-service";
     private static final int NOTIFICATION_ID = Integer.MAX_VALUE - 100;
 
     // private static final String ACTION_SHOW_SUFFIX = ".debugoverlay_ACTION_SHOW";
     private static final String ACTION_SOUND_SUFFIX = ".debugoverlay_ACTION_SOUND";
 
     static final String KEY_CONFIG = "com.wsi.all_audiodemo.extra.CONFIG";
-    static final String ACTION_UNBIND = "com.wsi.all_audiodemo.ACTION_UNBIND";
     Config config;
 
     private final IBinder binder = new LocalBinder();
 
     private NotificationManager notificationManager;
+    private ServicePlayer player;
+    private EventBus.Subscription showSubscription;
 
     // private String actionShow = "";
     private String actionSound = "";
@@ -84,6 +87,10 @@ public class NotifyService extends Service {
             // Return this instance of DebugOverlayService so clients can call public methods
             return NotifyService.this;
         }
+
+        ServicePlayer getPlayer() {
+            return player;
+        }
     }
 
 
@@ -91,6 +98,7 @@ public class NotifyService extends Service {
     public void onCreate() {
         Log.i(TAG, "onCreate() called");
         notificationManager = (NotificationManager) getSystemService(NOTIFICATION_SERVICE);
+        player = new ServicePlayer(this);
 
         createNotificationChannel();
 
@@ -135,22 +143,37 @@ public class NotifyService extends Service {
     public void onDestroy() {
         Log.i(TAG, "onDestroy() called");
         unregisterReceiver(receiver);
+        unsubscribeShow();
         cancelNotification();
+        player.release();
     }
 
     @Nullable
     @Override
     public IBinder onBind(Intent intent) {
         Log.i(TAG, "onBind() called");
+        // In-process requests come on the event bus, the receiver is only for the
+        // notification PendingIntent which is sent from the system process.
+        // Direct, ManageService posts on the main thread from onActivityResumed.
+        if (showSubscription == null) {
+            showSubscription = EventBus.getInstance().subscribe(ShowNotificationEvent.class,
+                    EventBus.DIRECT, event -> updateNotification());
+        }
         return binder;
     }
 
+    @Override
+    public boolean onUnbind(Intent intent) {
+        Log.i(TAG, "onUnbind() called");
+        unsubscribeShow();
+        return false;   // Next bind calls onBind() and subscribes again.
+    }
+
     @Override
     public void onTaskRemoved(Intent rootIntent) {
         Log.i(TAG, "onTaskRemoved() called");
         stopSelf();
-        //noinspection deprecation
-        LocalBroadcastManager.getInstance(getApplicationContext()).sendBroadcastSync(new Intent(ACTION_UNBIND));
+        EventBus.getInstance().post(UnbindEvent.INSTANCE);
     }
 
 
@@ -159,11 +182,27 @@ public class NotifyService extends Service {
         showNotification();
     }
 
+    private void unsubscribeShow() {
+        if (showSubscription != null) {
+            EventBus.getInstance().unsubscribe(showSubscription);
+            showSubscription = null;
+        }
+    }
+
     public void startTimer() {
         Log.i(TAG, "startTimer() called");
     }
+
+    /**
+     * App moved to background, log what the player has done so far.
+     */
     public void cancelTimer() {
-        Log.i(TAG, "cancelTimer() called");
+        Log.i(TAG, "cancelTimer() called " + player);
+    }
+
+    @NonNull
+    public ServicePlayer getPlayer() {
+        return player;
     }
 
     private void createNotificationChannel() {
@@ -253,6 +292,28 @@ public class NotifyService extends Service {
         return (drawable instanceof BitmapDrawable) ? ((BitmapDrawable) drawable).getBitmap() : null;
     }
 
+    // =============================================================================================
+
+    /**
+     * Service is going away, bound clients should unbind. Delivered on the poster's thread.
+     */
+    static final class UnbindEvent {
+        static final UnbindEvent INSTANCE = new UnbindEvent();
+
+        private UnbindEvent() {
+        }
+    }
+
+    /**
+     * Request to refresh the service notification, handled on the poster's thread while bound.
+     */
+    static final class ShowNotificationEvent {
+        static final ShowNotificationEvent INSTANCE = new ShowNotificationEvent();
+
+        private ShowNotificationEvent() {
+        }
+    }
+
     // =============================================================================================
     static class Config implements Parcelable {
 
@@ -27,22 +27,20 @@ import android.app.PendingIntent;
 import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.graphics.Rect;
-import android.graphics.drawable.BitmapDrawable;
 import android.net.Uri;
 import android.util.Log;
 import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.RawRes;
-import androidx.appcompat.content.res.AppCompatResources;
-import androidx.core.app.NotificationCompat;
 
 import com.wsi.all_audiodemo.MainActivity;
 import com.wsi.all_audiodemo.R;
+import com.wsi.all_audiodemo.audio.SoundIds;
 
 import java.io.File;
+import java.util.List;
 
 import static com.wsi.all_audiodemo.notify.NotifyChannels.INVALID_RES_ID;
 
@@ -53,6 +51,10 @@ public class NotifyUtil {
     public static PendingIntent getPendingAction(Context context, String audio, String action) {
         // Prepare intent which is triggered if the
         // notification is selected
+        //
+        // The data uri makes each (audio, action) a distinct PendingIntent, otherwise
+        // FLAG_UPDATE_CURRENT rewrites the extras of intents NotifyFactory has cached.
+        Uri actionUri = new Uri.Builder().scheme("audio").authority(action).path(audio).build();
 
         try {
             // Create PendingIntent to take us to DetailsActivity
@@ -63,23 +65,25 @@ public class NotifyUtil {
 
                 Intent notifyIntent = new Intent(context, MainActivity.class);
                 notifyIntent.setAction(action);
+                notifyIntent.setData(actionUri);
                 notifyIntent.putExtra(EXTRA_AUDIO, audio);
                 pIntent = PendingIntent.getActivity(
                         context,
                         REQUEST_CODE,
                         notifyIntent,
-                        PendingIntent.FLAG_UPDATE_CURRENT);
+                        PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
             }  else {
                 // Setup alternate activity as notify intent.
                 Intent notifyIntent = new Intent(context, NotifyActivity.class);
                 notifyIntent.setAction(action);
+                notifyIntent.setData(actionUri);
                 notifyIntent.putExtra(EXTRA_AUDIO, audio);
                 notifyIntent.putExtra("EXTRA_DETAILS_ID", 42);
                 pIntent = PendingIntent.getActivity(
                         context,
                         REQUEST_CODE,
                         notifyIntent,
-                        PendingIntent.FLAG_UPDATE_CURRENT
+                        PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
                 );
             }
             return pIntent;
@@ -101,6 +105,22 @@ public class NotifyUtil {
 
 
     public static  void notifySound(@NonNull Context context, @NonNull String assetName, boolean isForeground) {
+        notifySound(context, NotifyChannels.Channel.ALERTS, assetName, isForeground);
+    }
+
+    /**
+     * Post alert on channel, bursts are merged and rate limited by AlertCoalescer.
+     */
+    public static  void notifySound(@NonNull Context context, @NonNull NotifyChannels.Channel channel,
+                                    @NonNull String assetName, boolean isForeground) {
+        AlertCoalescer.getInstance(context).submit(channel, assetName, isForeground);
+    }
+
+    /**
+     * Post notification for count alerts, lines holds the merged alert names when count > 1.
+     */
+    static void postSound(@NonNull Context context, @NonNull NotifyChannels.Channel channel,
+                          @NonNull String assetName, boolean isForeground, int count, @NonNull List<String> lines) {
         // Uri soundUri = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
         String RESOURCE_PATH = ContentResolver.SCHEME_ANDROID_RESOURCE + "://";
 
@@ -119,36 +139,17 @@ public class NotifyUtil {
         if (false) {
             path = RESOURCE_PATH + context.getPackageName() + "/raw/" + assetName;
         } else {
-            soundRes = context.getResources().getIdentifier(assetName, "raw", context.getPackageName());
+            soundRes = SoundIds.getId(assetName);
             path = RESOURCE_PATH + context.getPackageName() + File.separator + soundRes;
         }
         Uri soundUri = Uri.parse(path);
 
         //  Build notification - use OS specific API.
 
-        Bitmap iconBM  = null;
-        iconBM = ((BitmapDrawable) AppCompatResources.getDrawable(context, R.mipmap.ic_launcher)).getBitmap();
-
-        PendingIntent pendingIntent = NotifyUtil.getPendingAction(context, assetName, "replay");
-        NotificationCompat.Builder builder;
-
         NotificationChannel notificationChannel =
-                NotifyChannels.setSound(context, NotifyChannels.Channel.ALERTS, soundRes);
-        builder = new NotificationCompat.Builder(context,
-                notificationChannel.getId());
-
-        builder
-                .setContentTitle("Played sound")
-                .setContentText((isForeground ? "Foreground":"Background") + " sound " + assetName)
-                .setSmallIcon(R.mipmap.ic_launcher)
-                .setContentIntent(pendingIntent)
-                .setSound(soundUri)                 // This sets the sound to play
-                .setLargeIcon(iconBM);
-
-        builder.addAction(R.drawable.replay_button, "Replay", pendingIntent);
-        builder.addAction(R.drawable.replay_button, "Next", pendingIntent);
-
-        Notification notification = builder.build();
+                NotifyChannels.setSound(context, channel, soundRes);
+        NotifyFactory factory = NotifyFactory.getInstance(context);
+        Notification notification = factory.build(notificationChannel.getId(), assetName, soundUri, isForeground, count, lines);
 
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
             NotifyChannels.notify(context, NotifyActivity.NOTIFICATION_ID, notification);
@@ -157,6 +158,10 @@ public class NotifyUtil {
                     context.getSystemService(Context.NOTIFICATION_SERVICE);
             notificationManager.notify(NotifyActivity.NOTIFICATION_ID, notification);
         }
+        factory.countIpc();
+        if (Log.isLoggable("Notify", Log.DEBUG)) {
+            Log.d("Notify", factory.toString());
+        }
     }
 
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.notify;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RawRes;
+
+import com.wsi.all_audiodemo.audio.AlertEngine;
+import com.wsi.all_audiodemo.audio.LatencyStats;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Playback engine owned by NotifyService.
+ * <p>
+ * Callers submit typed commands (preload, play, stop, setVolume) to a bounded queue which
+ * is drained in order on the player thread. Plays go through AlertScheduler and the shared
+ * AlertEngine, so while the service is alive background alerts reuse the warm SoundPool
+ * voice bank instead of starting cold per notification.
+ * <ul>
+ * <li> A full queue rejects the command, submit() returns false.
+ * <li> stop() jumps the queue and cancels plays not yet started.
+ * <li> setVolume() replaces a queued volume change instead of adding another.
+ * </ul>
+ * Queue depth and the service side latency (submit to executed) are kept per command type,
+ * PLAY latency is also recorded in LatencyStats as technique "service".
+ */
+@SuppressWarnings("unused")
+public class ServicePlayer {
+    private static final String TAG = "ServicePlayer";
+
+    public static final int MAX_QUEUE_DEPTH = 16;
+    public static final String TECHNIQUE = "service";
+
+    public enum Type {
+        PRELOAD, PLAY, STOP, SET_VOLUME
+    }
+
+    // Player of the running service, null when the service is not alive.
+    private static ServicePlayer active;
+
+    private final Context appContext;
+    private final HandlerThread thread;
+    private final Handler handler;
+    private final ArrayDeque<Command> queue = new ArrayDeque<>(MAX_QUEUE_DEPTH);
+
+    // Statistics, indexed by Type ordinal.
+    private final int[] executedCount = new int[Type.values().length];
+    private final long[] latencyTotalMilli = new long[executedCount.length];
+    private final long[] latencyMaxMilli = new long[executedCount.length];
+    private int rejectedCount;
+    private int cancelledCount;
+    private int maxDepth;
+
+    ServicePlayer(@NonNull Context context) {
+        appContext = context.getApplicationContext();
+        thread = new HandlerThread(TAG);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+        synchronized (ServicePlayer.class) {
+            active = this;
+        }
+    }
+
+    /**
+     * @return player of the running NotifyService or null.
+     */
+    @Nullable
+    public static synchronized ServicePlayer getActive() {
+        return active;
+    }
+
+    /**
+     * Decode res/raw/ sounds into the voice bank ahead of their first play.
+     */
+    public boolean preload(@NonNull String[] names) {
+        return submit(new Command(Type.PRELOAD, names, NotifyChannels.INVALID_RES_ID, null, 0));
+    }
+
+    public boolean play(@NonNull NotifyChannels.Priority priority, @RawRes int resId) {
+        return submit(new Command(Type.PLAY, null, resId, priority, 0));
+    }
+
+    public boolean stop() {
+        return submit(new Command(Type.STOP, null, NotifyChannels.INVALID_RES_ID, null, 0));
+    }
+
+    public boolean setVolume(float volume) {
+        return submit(new Command(Type.SET_VOLUME, null, NotifyChannels.INVALID_RES_ID, null, volume));
+    }
+
+    /**
+     * Queue command, never blocks.
+     * @return false if queue is full or player released.
+     */
+    private boolean submit(@NonNull Command command) {
+        synchronized (this) {
+            if (!thread.isAlive()) {
+                return false;
+            }
+            switch (command.type) {
+                case STOP:
+                    cancelPlays();
+                    queue.addFirst(command);
+                    break;
+                case SET_VOLUME:
+                    for (Command queued : queue) {
+                        if (queued.type == Type.SET_VOLUME) {
+                            queued.volume = command.volume;
+                            return true;
+                        }
+                    }
+                    // fall through
+                default:
+                    if (queue.size() >= MAX_QUEUE_DEPTH) {
+                        rejectedCount++;
+                        Log.w(TAG, "Queue full, rejected " + command.type);
+                        return false;
+                    }
+                    queue.addLast(command);
+                    break;
+            }
+            maxDepth = Math.max(maxDepth, queue.size());
+        }
+        handler.post(this::runNext);
+        return true;
+    }
+
+    public synchronized int getDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public synchronized long getAverageLatencyMilli(@NonNull Type type) {
+        int idx = type.ordinal();
+        return executedCount[idx] == 0 ? 0 : latencyTotalMilli[idx] / executedCount[idx];
+    }
+
+    public synchronized long getMaxLatencyMilli(@NonNull Type type) {
+        return latencyMaxMilli[type.ordinal()];
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(TAG);
+        sb.append(String.format(Locale.US, " depth=%d/%d max=%d", queue.size(), MAX_QUEUE_DEPTH, maxDepth));
+        for (Type type : Type.values()) {
+            int idx = type.ordinal();
+            sb.append(String.format(Locale.US, " %s[n=%d avg=%d max=%d]",
+                    type, executedCount[idx], getAverageLatencyMilli(type), latencyMaxMilli[idx]));
+        }
+        sb.append(String.format(Locale.US, " rejected=%d cancelled=%d", rejectedCount, cancelledCount));
+        return sb.toString();
+    }
+
+    /**
+     * Drop queued commands and stop the player thread, called when the service is destroyed.
+     * Sounds already handed to AlertScheduler finish playing.
+     */
+    void release() {
+        synchronized (this) {
+            cancelledCount += queue.size();
+            queue.clear();
+        }
+        thread.quitSafely();
+        synchronized (ServicePlayer.class) {
+            if (active == this) {
+                active = null;
+            }
+        }
+        Log.d(TAG, toString());
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Runs on player thread, one post per queued command.
+     */
+    private void runNext() {
+        Command command;
+        synchronized (this) {
+            command = queue.pollFirst();
+        }
+        if (command == null) {
+            return;     // Cancelled by stop() or release().
+        }
+
+        switch (command.type) {
+            case PRELOAD:
+                AlertEngine.getInstance(appContext).preload(command.names);
+                break;
+            case PLAY:
+                AlertScheduler.getInstance(appContext).play(command.priority, command.resId);
+                break;
+            case STOP:
+                AlertScheduler.getInstance(appContext).stop();
+                break;
+            case SET_VOLUME:
+                AlertEngine.getInstance(appContext).setVolume(command.volume);
+                break;
+        }
+
+        long latencyMilli = SystemClock.elapsedRealtime() - command.submitMilli;
+        synchronized (this) {
+            int idx = command.type.ordinal();
+            executedCount[idx]++;
+            latencyTotalMilli[idx] += latencyMilli;
+            latencyMaxMilli[idx] = Math.max(latencyMaxMilli[idx], latencyMilli);
+        }
+        if (command.type == Type.PLAY) {
+            LatencyStats.getInstance().record(TECHNIQUE, LatencyStats.QUEUE, latencyMilli);
+        }
+    }
+
+    /**
+     * Remove plays which have not started, caller holds lock.
+     */
+    private void cancelPlays() {
+        Iterator<Command> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().type == Type.PLAY) {
+                it.remove();
+                cancelledCount++;
+            }
+        }
+    }
+
+    // =============================================================================================
+    private static final class Command {
+        final Type type;
+        final String[] names;
+        @RawRes
+        final int resId;
+        final NotifyChannels.Priority priority;
+        final long submitMilli = SystemClock.elapsedRealtime();
+        volatile float volume;
+
+        Command(@NonNull Type type, @Nullable String[] names, @RawRes int resId,
+                @Nullable NotifyChannels.Priority priority, float volume) {
+            this.type = type;
+            this.names = names;
+            this.resId = resId;
+            this.priority = priority;
+            this.volume = volume;
+        }
+    }
+}
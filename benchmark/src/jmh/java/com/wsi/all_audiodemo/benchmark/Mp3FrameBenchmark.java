@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.benchmark;
+
+import com.wsi.all_audiodemo.audio.Mp3FrameHeader;
+import com.wsi.all_audiodemo.audio.Mp3Index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Walk mp3 frames with the allocation free frameLength() fast path and with parse(),
+ * and build a full Mp3Index (duration and seek table) in one pass.
+ * <p>
+ * Stream is synthetic: an ID3v2 tag followed by MPEG1 layer 3, 128kbps, 44.1kHz frames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class Mp3FrameBenchmark {
+
+    // MPEG1 layer 3, no crc, 128kbps, 44.1kHz, joint stereo. Length 417, 418 with padding.
+    private static final int HEADER = 0xFFFB9064;
+    private static final int PADDING_BIT = 1 << 9;
+    private static final int ID3_SIZE = 1024;
+
+    @Param({"100", "1000"})
+    public int frames;
+
+    private byte[] data;
+    private ByteBuffer buffer;
+    private int firstFrame;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int size = ID3_SIZE + frames * 418;
+        data = new byte[size];
+        random.nextBytes(data);
+
+        // ID3v2.4 header, sync safe size of tag body.
+        int tagBody = ID3_SIZE - 10;
+        data[0] = 'I';
+        data[1] = 'D';
+        data[2] = '3';
+        data[3] = 4;
+        data[4] = 0;
+        data[5] = 0;
+        data[6] = (byte) ((tagBody >>> 21) & 0x7F);
+        data[7] = (byte) ((tagBody >>> 14) & 0x7F);
+        data[8] = (byte) ((tagBody >>> 7) & 0x7F);
+        data[9] = (byte) (tagBody & 0x7F);
+
+        int pos = ID3_SIZE;
+        for (int idx = 0; idx < frames; idx++) {
+            // Every third frame padded, as an encoder does for 44.1kHz.
+            int header = (idx % 3 == 2) ? (HEADER | PADDING_BIT) : HEADER;
+            data[pos] = (byte) (header >>> 24);
+            data[pos + 1] = (byte) (header >>> 16);
+            data[pos + 2] = (byte) (header >>> 8);
+            data[pos + 3] = (byte) header;
+            pos += Mp3FrameHeader.frameLength(header);
+        }
+        firstFrame = ID3_SIZE;
+        buffer = ByteBuffer.wrap(data);
+    }
+
+    @Benchmark
+    public int findFirstFrame() {
+        int start = Mp3FrameHeader.skipId3v2(data, 0);
+        return Mp3FrameHeader.findFrame(data, start, data.length);
+    }
+
+    @Benchmark
+    public long walkFrameLength() {
+        long bytes = 0;
+        int pos = firstFrame;
+        int length;
+        while (pos + Mp3FrameHeader.HEADER_SIZE <= data.length
+                && (length = Mp3FrameHeader.frameLength(Mp3FrameHeader.readInt(data, pos))) > 0) {
+            bytes += length;
+            pos += length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long walkParse() {
+        long durationMicro = 0;
+        int pos = firstFrame;
+        Mp3FrameHeader header;
+        while (pos + Mp3FrameHeader.HEADER_SIZE <= data.length
+                && (header = Mp3FrameHeader.parse(Mp3FrameHeader.readInt(data, pos))) != null) {
+            durationMicro += header.getFrameDurationMicro();
+            pos += header.frameLength;
+        }
+        return durationMicro;
+    }
+
+    @Benchmark
+    public long scanIndex() throws IOException {
+        return Mp3Index.scan(buffer, Mp3Index.DEFAULT_FRAMES_PER_ENTRY).getDurationMicro();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.benchmark;
+
+import com.wsi.all_audiodemo.audio.PcmMixer;
+import com.wsi.all_audiodemo.audio.PcmSound;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Mix one output burst of MIX_FRAMES from N voices.
+ * <p>
+ * A source rate equal to OUT_RATE measures the straight mix, other rates add the
+ * linear resampling done per voice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+public class PcmMixerBenchmark {
+
+    private static final int OUT_RATE = 48000;
+    private static final int OUT_CHANNELS = 2;
+    private static final int MIX_FRAMES = 512;
+    private static final int MAX_VOICES = 8;
+    private static final int SOUND_SECONDS = 10;
+
+    @Param({"1", "4", "8"})
+    public int voices;
+
+    @Param({"48000", "44100", "22050"})
+    public int sourceRate;
+
+    @Param({"1", "2"})
+    public int sourceChannels;
+
+    private PcmMixer mixer;
+    private PcmSound sound;
+    private short[] out;
+
+    @Setup
+    public void setup() {
+        short[] samples = new short[sourceRate * SOUND_SECONDS * sourceChannels];
+        for (int idx = 0; idx < samples.length; idx++) {
+            // 440Hz tone at half scale, mixing 8 voices exercises clipping.
+            samples[idx] = (short) (16000 * Math.sin(2 * Math.PI * 440 * (idx / sourceChannels) / sourceRate));
+        }
+        sound = new PcmSound("tone", samples, sourceRate, sourceChannels);
+        mixer = new PcmMixer(OUT_RATE, OUT_CHANNELS, MAX_VOICES, MIX_FRAMES);
+        out = new short[MIX_FRAMES * OUT_CHANNELS];
+        startVoices();
+    }
+
+    @Benchmark
+    public short[] mix() {
+        if (mixer.getActiveVoices() < voices) {
+            // Voices ran to the end of the sound, restart all at the same phase.
+            startVoices();
+        }
+        mixer.mix(out, MIX_FRAMES);
+        return out;
+    }
+
+    private void startVoices() {
+        mixer.stopAll();
+        for (int idx = 0; idx < voices; idx++) {
+            mixer.play(sound, 0.7f);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Resolve every res/raw sound name to its resource id.
+ * <p>
+ * sortedArray mirrors the generated SoundIds binary search, hashMap is the usual
+ * alternative and reflection stands in for Resources.getIdentifier(), which also
+ * resolves the id from the name string at runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class SoundLookupBenchmark {
+
+    private String[] sortedNames;
+    private int[] sortedIds;
+    private HashMap<String, Integer> idMap;
+    private String[] lookupNames;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        sortedNames = Arrays.stream(RawStub.class.getFields()).map(f -> f.getName()).sorted().toArray(String[]::new);
+        sortedIds = new int[sortedNames.length];
+        idMap = new HashMap<>();
+        for (int idx = 0; idx < sortedNames.length; idx++) {
+            sortedIds[idx] = RawStub.class.getField(sortedNames[idx]).getInt(null);
+            idMap.put(sortedNames[idx], sortedIds[idx]);
+        }
+        // Fresh strings so lookups do not hit the cached String hash of the table keys.
+        lookupNames = new String[sortedNames.length];
+        for (int idx = 0; idx < sortedNames.length; idx++) {
+            lookupNames[idx] = new String(sortedNames[idx].toCharArray());
+        }
+    }
+
+    @Benchmark
+    public void sortedArray(Blackhole blackhole) {
+        for (String name : lookupNames) {
+            int idx = Arrays.binarySearch(sortedNames, name);
+            blackhole.consume(idx >= 0 ? sortedIds[idx] : 0);
+        }
+    }
+
+    @Benchmark
+    public void hashMap(Blackhole blackhole) {
+        for (String name : lookupNames) {
+            Integer id = idMap.get(name);
+            blackhole.consume(id != null ? id : 0);
+        }
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) throws ReflectiveOperationException {
+        for (String name : lookupNames) {
+            blackhole.consume(RawStub.class.getField(name).getInt(null));
+        }
+    }
+
+    // =============================================================================================
+
+    /**
+     * Stand in for R.raw, one field per sound in res/raw/.
+     */
+    @SuppressWarnings("unused")
+    public static final class RawStub {
+        public static final int alert_air_horn = 0x7f100000;
+        public static final int alert_alarm_clock = 0x7f100001;
+        public static final int alert_blop = 0x7f100002;
+        public static final int alert_censored_beep = 0x7f100003;
+        public static final int alert_electrical_sweep = 0x7f100004;
+        public static final int alert_fire_pager = 0x7f100005;
+        public static final int alert_fog_horn = 0x7f100006;
+        public static final int alert_metal_gong = 0x7f100007;
+        public static final int alert_pling = 0x7f100008;
+        public static final int alert_power_up = 0x7f100009;
+        public static final int alert_railroad_crossing = 0x7f10000a;
+        public static final int alert_sad_trombone = 0x7f10000b;
+        public static final int alert_school_fire_alarm = 0x7f10000c;
+        public static final int alert_ship_bell = 0x7f10000d;
+        public static final int alert_siren_noise = 0x7f10000e;
+        public static final int alert_store_door_chime = 0x7f10000f;
+        public static final int alert_temple_bell = 0x7f100010;
+        public static final int alert_tornado_siren = 0x7f100011;
+        public static final int alert_train_whistle = 0x7f100012;
+        public static final int alert_ufo_takeoff = 0x7f100013;
+        public static final int animal_bluejay = 0x7f100014;
+        public static final int animal_cow = 0x7f100015;
+        public static final int animal_horned_owl = 0x7f100016;
+        public static final int animal_pterodactyl_screech = 0x7f100017;
+        public static final int animal_rooster = 0x7f100018;
+        public static final int animal_turkey = 0x7f100019;
+        public static final int long_news_intro = 0x7f10001a;
+        public static final int test_hurwrn = 0x7f10001b;
+        public static final int weather_hailstorm = 0x7f10001c;
+        public static final int weather_rain = 0x7f10001d;
+        public static final int weather_rainstorm = 0x7f10001e;
+        public static final int weather_thunder1 = 0x7f10001f;
+        public static final int weather_thunder2 = 0x7f100020;
+        public static final int weather_thunder3 = 0x7f100021;
+        public static final int weather_wind = 0x7f100022;
+    }
+}
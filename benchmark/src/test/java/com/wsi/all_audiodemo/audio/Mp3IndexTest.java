@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Mp3Index against the app's res/raw sounds and synthetic Xing/LAME and VBRI tagged frames.
+ */
+public class Mp3IndexTest {
+
+    // MPEG1 layer 3, 128kbps, 44.1KHz, stereo, no crc, no padding: 417 byte frames.
+    private static final int HEADER = 0xFFFB9000;
+    private static final int FRAME_LENGTH = Mp3FrameHeader.frameLength(HEADER);
+    private static final int TAG_POS = Mp3FrameHeader.HEADER_SIZE + 32;    // After stereo side info.
+    private static final int INFO = 0x496E666F;
+
+    @Test
+    public void rawSoundsMatchTheirInfoTag() throws IOException {
+        int checked = 0;
+        for (File file : rawFiles()) {
+            byte[] data = Files.readAllBytes(file.toPath());
+            if (isRiff(data)) {
+                continue;
+            }
+            Mp3Index index = Mp3Index.scan(ByteBuffer.wrap(data), Mp3Index.DEFAULT_FRAMES_PER_ENTRY);
+            String name = file.getName();
+
+            // The encoder's Info tag frame count is not audio and not counted by the index.
+            int tagPos = Mp3FrameHeader.findFrame(data, Mp3FrameHeader.skipId3v2(data, 0), data.length)
+                    + Mp3FrameHeader.HEADER_SIZE + Mp3FrameHeader.parse(
+                            Mp3FrameHeader.readInt(data, index.firstFrameOffset)).getSideInfoSize();
+            if (Mp3FrameHeader.readInt(data, tagPos) == INFO) {
+                assertEquals(name, Mp3FrameHeader.readInt(data, tagPos + 8), index.frameCount);
+                checked++;
+            }
+            assertEquals(name, (long) index.frameCount * index.samplesPerFrame * 1000 / index.sampleRate,
+                    index.getDurationMilli());
+            assertTrue(name, index.audioBytes <= data.length - index.firstFrameOffset);
+        }
+        assertTrue("no Info tagged sounds in res/raw", checked > 0);
+    }
+
+    @Test
+    public void knownDurations() throws IOException {
+        assertEquals(288, scan(raw("alert_blop.mp3")).getDurationMilli());
+        assertEquals(2168, scan(raw("alert_air_horn.mp3")).getDurationMilli());
+        assertEquals(2560, scan(raw("alert_fog_horn.mp3")).getDurationMilli());
+
+        Mp3Index cow = scan(raw("animal_cow.mp3"));
+        assertEquals(32000, cow.sampleRate);
+        assertEquals(2, cow.channelCount);
+        assertEquals(96, cow.getBitrateKbps());
+    }
+
+    @Test
+    public void riffWaveNamedMp3() throws IOException {
+        byte[] data = raw("test_hurwrn.mp3");
+        assertTrue(isRiff(data));
+        try {
+            scan(data);
+            fail("expected IOException, test_hurwrn is 16-bit PCM in a RIFF WAVE");
+        } catch (IOException expected) {
+        }
+
+        SoundInfo info = SoundInfo.probe("test_hurwrn", data, 0);
+        assertEquals(16000, info.sampleRate);
+        assertEquals(1, info.channelCount);
+        assertTrue(info.durationMilli > 0);
+    }
+
+    @Test
+    public void lameDelayAndPadding() throws IOException {
+        int frames = 40;
+        byte[] data = frames(frames + 1);
+        ByteBuffer tag = ByteBuffer.wrap(data);
+        tag.putInt(TAG_POS, INFO);
+        tag.putInt(TAG_POS + 4, 0);     // No optional fields, encoder tag follows.
+        System.arraycopy("LAME3.100".getBytes(StandardCharsets.US_ASCII), 0, data, TAG_POS + 8, 9);
+        int delay = 576 + 529;
+        int padding = 1000;
+        int delayPos = TAG_POS + 8 + 21;
+        data[delayPos] = (byte) (delay >> 4);
+        data[delayPos + 1] = (byte) (((delay & 0xF) << 4) | (padding >> 8));
+        data[delayPos + 2] = (byte) padding;
+
+        Mp3Index index = scan(data);
+        assertEquals(frames, index.frameCount);
+        assertEquals(FRAME_LENGTH, index.firstFrameOffset);
+        assertEquals(delay, index.encoderDelay);
+        assertEquals(padding, index.encoderPadding);
+        assertFalse(index.vbr);
+        assertEquals((long) frames * 1152 - delay - padding, index.getSampleCount());
+    }
+
+    @Test
+    public void vbriDelay() throws IOException {
+        int frames = 20;
+        byte[] data = frames(frames + 1);
+        ByteBuffer tag = ByteBuffer.wrap(data);
+        tag.putInt(TAG_POS, 0x56425249);    // "VBRI"
+        tag.putShort(TAG_POS + 4, (short) 1);
+        tag.putShort(TAG_POS + 6, (short) 576);
+
+        Mp3Index index = scan(data);
+        assertEquals(frames, index.frameCount);
+        assertEquals(576, index.encoderDelay);
+        assertEquals(0, index.encoderPadding);
+        assertTrue(index.vbr);
+    }
+
+    @Test
+    public void seekTableLookup() throws IOException {
+        byte[] data = raw("alert_electrical_sweep.mp3");
+        Mp3Index index = scan(data);
+        assertEquals((index.frameCount + index.framesPerEntry - 1) / index.framesPerEntry, index.getEntryCount());
+        assertEquals(index.firstFrameOffset, index.getSeekOffset(0));
+
+        int previous = -1;
+        for (int entry = 0; entry < index.getEntryCount(); entry++) {
+            int offset = index.getEntryOffset(entry);
+            assertTrue(offset > previous);
+            assertTrue(Mp3FrameHeader.frameLength(Mp3FrameHeader.readInt(data, offset)) > 0);
+            assertEquals(offset, index.getSeekOffset(index.getEntryTimeMicro(entry)));
+            if (entry > 0) {
+                // Just before an entry's time seeks to the previous entry.
+                assertEquals(previous, index.getSeekOffset(index.getEntryTimeMicro(entry) - 1000));
+            }
+            previous = offset;
+        }
+        assertEquals(previous, index.getSeekOffset(index.getDurationMicro() * 2));
+    }
+
+    @Test
+    public void writeReadRoundTrip() throws IOException {
+        Mp3Index index = scan(raw("alert_ship_bell.mp3"));
+        Mp3Index copy = Mp3Index.read(index.write());
+        assertEquals(index.toString(), copy.toString());
+        assertEquals(index.firstFrameOffset, copy.firstFrameOffset);
+        for (int entry = 0; entry < index.getEntryCount(); entry++) {
+            assertEquals(index.getEntryOffset(entry), copy.getEntryOffset(entry));
+        }
+    }
+
+    @Test
+    public void truncatedReadThrowsIOException() throws IOException {
+        byte[] data = scan(raw("alert_ship_bell.mp3")).write();
+        for (int length = 0; length < data.length; length++) {
+            try {
+                Mp3Index.read(Arrays.copyOf(data, length));
+                fail("expected IOException at length " + length);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static Mp3Index scan(byte[] data) throws IOException {
+        return Mp3Index.scan(ByteBuffer.wrap(data), Mp3Index.DEFAULT_FRAMES_PER_ENTRY);
+    }
+
+    private static byte[] frames(int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(count * FRAME_LENGTH);
+        for (int idx = 0; idx < count; idx++) {
+            buffer.putInt(idx * FRAME_LENGTH, HEADER);
+        }
+        return buffer.array();
+    }
+
+    private static boolean isRiff(byte[] data) {
+        return data.length > 4 && data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F';
+    }
+
+    private static File rawDir() {
+        return new File(System.getProperty("rawDir", "../app/src/main/res/raw"));
+    }
+
+    private static File[] rawFiles() {
+        File[] files = rawDir().listFiles((dir, name) -> name.endsWith(".mp3"));
+        assertTrue("no sounds in " + rawDir(), files != null && files.length > 0);
+        Arrays.sort(files);
+        return files;
+    }
+
+    private static byte[] raw(String name) throws IOException {
+        return Files.readAllBytes(new File(rawDir(), name).toPath());
+    }
+}
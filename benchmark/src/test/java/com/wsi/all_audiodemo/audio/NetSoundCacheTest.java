@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * NetSoundCache against a local http server which serves "/{path}?age={maxAge}" with an ETag
+ * and answers matching If-None-Match with 304.
+ */
+public class NetSoundCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private String baseUrl;
+    private File cacheDir;
+    private final ConcurrentHashMap<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private volatile long responseDelayMilli;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("NetSoundCacheTest").toFile();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+            sleep(responseDelayMilli);
+
+            String query = exchange.getRequestURI().getQuery();
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=" + query.substring("age=".length()));
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = bodyFor(path);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        cacheDir.delete();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    @Test
+    public void freshCopyIsServedWithoutRequest() throws IOException {
+        NetSoundCache cache = new NetSoundCache(cacheDir, 1 << 20, 0);
+        String url = baseUrl + "/fresh.mp3?age=60";
+
+        File first = cache.get(url);
+        File second = cache.get(url);
+
+        assertEquals(first, second);
+        assertArrayEquals(bodyFor("/fresh.mp3"), Files.readAllBytes(second.toPath()));
+        assertEquals(1, hitCount("/fresh.mp3"));
+        assertEquals(1, cache.getRequestCount());
+        assertEquals(1, cache.getDownloadCount());
+        assertEquals(1, cache.getFreshHitCount());
+    }
+
+    @Test
+    public void staleCopyIsReusedOn304() throws IOException {
+        NetSoundCache cache = new NetSoundCache(cacheDir, 1 << 20, 0);
+        String url = baseUrl + "/stale.mp3?age=0";
+
+        cache.get(url);
+        File second = cache.get(url);
+
+        assertArrayEquals(bodyFor("/stale.mp3"), Files.readAllBytes(second.toPath()));
+        assertEquals(2, hitCount("/stale.mp3"));
+        assertEquals(1, cache.getDownloadCount());
+        assertEquals(1, cache.getRevalidatedCount());
+    }
+
+    @Test
+    public void staleCopyIsServedOffline() throws IOException {
+        NetSoundCache cache = new NetSoundCache(cacheDir, 1 << 20, 0);
+        String url = baseUrl + "/offline.mp3?age=0";
+
+        cache.get(url);
+        server.stop(0);
+        File offline = cache.get(url);
+
+        assertArrayEquals(bodyFor("/offline.mp3"), Files.readAllBytes(offline.toPath()));
+        assertEquals(1, cache.getOfflineHitCount());
+    }
+
+    @Test
+    public void missingCopyFailsOffline() {
+        NetSoundCache cache = new NetSoundCache(cacheDir, 1 << 20, 0);
+        server.stop(0);
+        try {
+            cache.get(baseUrl + "/missing.mp3?age=60");
+            fail("expected IOException");
+        } catch (IOException expected) {
+            assertEquals(0, cache.getDownloadCount());
+        }
+    }
+
+    @Test
+    public void concurrentRequestsFetchOnce() throws Exception {
+        NetSoundCache cache = new NetSoundCache(cacheDir, 1 << 20, 0);
+        String url = baseUrl + "/shared.mp3?age=60";
+        responseDelayMilli = 200;
+
+        Thread[] threads = new Thread[4];
+        File[] results = new File[threads.length];
+        for (int idx = 0; idx < threads.length; idx++) {
+            final int slot = idx;
+            threads[idx] = new Thread(() -> {
+                try {
+                    results[slot] = cache.get(url);
+                } catch (IOException ignore) {
+                }
+            });
+            threads[idx].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (File result : results) {
+            assertEquals(results[0], result);
+        }
+        assertEquals(1, hitCount("/shared.mp3"));
+        assertEquals(1, cache.getDownloadCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws IOException {
+        int size = bodyFor("/a.mp3").length;
+        NetSoundCache cache = new NetSoundCache(cacheDir, size * 2, 0);
+
+        cache.get(baseUrl + "/a.mp3?age=60");
+        cache.get(baseUrl + "/b.mp3?age=60");
+        cache.get(baseUrl + "/a.mp3?age=60");
+        cache.get(baseUrl + "/c.mp3?age=60");
+
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.contains(baseUrl + "/a.mp3?age=60"));
+        assertTrue(!cache.contains(baseUrl + "/b.mp3?age=60"));
+        assertTrue(cache.contains(baseUrl + "/c.mp3?age=60"));
+        assertTrue(cache.getUsedBytes() <= size * 2);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private int hitCount(String path) {
+        AtomicInteger count = hits.get(path);
+        return (count != null) ? count.get() : 0;
+    }
+
+    private static byte[] bodyFor(String path) {
+        StringBuilder sb = new StringBuilder();
+        for (int idx = 0; idx < 256; idx++) {
+            sb.append(path).append(':').append(idx).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void sleep(long milli) {
+        try {
+            Thread.sleep(milli);
+        } catch (InterruptedException ignore) {
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.audio;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * PcmMixer gain, clipping, resampling, voice ids and allocation free mixing.
+ */
+public class PcmMixerTest {
+
+    private static final int OUT_RATE = 48000;
+    private static final int FRAMES = 256;
+
+    @Test
+    public void gainScalesAndMonoFillsAllChannels() {
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 2, 4, FRAMES);
+        short[] out = new short[FRAMES * 2];
+
+        int voiceId = mixer.play(constant(1000, OUT_RATE, 1, FRAMES * 4), 0.5f);
+        assertEquals(1, mixer.mix(out, FRAMES));
+        assertAll(out, 500);
+
+        mixer.setGain(voiceId, 2.0f);
+        mixer.setMasterGain(0.5f);
+        mixer.mix(out, FRAMES);
+        assertAll(out, 1000);
+        assertEquals(0, mixer.getClippedSamples());
+    }
+
+    @Test
+    public void overflowIsClippedAndCounted() {
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 2, 4, FRAMES);
+        short[] out = new short[FRAMES * 2];
+
+        mixer.play(constant(20000, OUT_RATE, 2, FRAMES), 1.0f);
+        mixer.play(constant(20000, OUT_RATE, 2, FRAMES), 1.0f);
+        assertEquals(2, mixer.mix(out, FRAMES));
+
+        assertAll(out, Short.MAX_VALUE);
+        assertEquals(FRAMES * 2, mixer.getClippedSamples());
+
+        mixer.play(constant(-20000, OUT_RATE, 2, FRAMES), 1.0f);
+        mixer.play(constant(-20000, OUT_RATE, 2, FRAMES), 1.0f);
+        mixer.mix(out, FRAMES);
+        assertAll(out, Short.MIN_VALUE);
+        assertEquals(FRAMES * 4, mixer.getClippedSamples());
+    }
+
+    @Test
+    public void resampleStretchesToOutputRate() {
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 1, 1, FRAMES);
+        short[] out = new short[FRAMES];
+
+        // One second at 22.05 kHz plays for one second at 48 kHz.
+        int voiceId = mixer.play(constant(1000, 22050, 1, 22050), 1.0f);
+        int played = 0;
+        while (mixer.isPlaying(voiceId)) {
+            mixer.mix(out, FRAMES);
+            for (int idx = 0; idx < FRAMES; idx++) {
+                if (out[idx] != 0) {
+                    played++;
+                }
+            }
+        }
+        assertEquals(OUT_RATE, played, 8);
+        assertEquals(0, mixer.getActiveVoices());
+    }
+
+    @Test
+    public void oldestVoiceIsStolen() {
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 1, 2, FRAMES);
+        PcmSound sound = constant(1000, OUT_RATE, 1, FRAMES * 4);
+
+        int first = mixer.play(sound, 1.0f);
+        int second = mixer.play(sound, 1.0f);
+        int third = mixer.play(sound, 1.0f);
+
+        assertEquals(1, mixer.getStolenVoices());
+        assertFalse(mixer.isPlaying(first));
+        assertTrue(mixer.isPlaying(second));
+        assertTrue(mixer.isPlaying(third));
+        assertEquals(2, mixer.getActiveVoices());
+    }
+
+    @Test
+    public void staleIdDoesNotTouchNewVoice() {
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 1, 1, FRAMES);
+        short[] out = new short[FRAMES];
+        PcmSound sound = constant(1000, OUT_RATE, 1, FRAMES * 4);
+
+        int stale = mixer.play(sound, 1.0f);
+        int current = mixer.play(sound, 1.0f);
+
+        mixer.setGain(stale, 0f);
+        mixer.stop(stale);
+        mixer.stop(PcmMixer.INVALID_VOICE);
+        assertTrue(mixer.isPlaying(current));
+        mixer.mix(out, FRAMES);
+        assertAll(out, 1000);
+
+        mixer.stop(current);
+        assertFalse(mixer.isPlaying(current));
+        assertEquals(0, mixer.mix(out, FRAMES));
+        assertAll(out, 0);
+    }
+
+    @Test
+    public void mixDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        PcmMixer mixer = new PcmMixer(OUT_RATE, 2, 4, FRAMES);
+        short[] out = new short[FRAMES * 2];
+        PcmSound sound = constant(1000, 22050, 1, 22050 * 10);
+        for (int idx = 0; idx < 4; idx++) {
+            mixer.play(sound, 0.25f);
+        }
+        for (int idx = 0; idx < 100; idx++) {
+            mixer.mix(out, FRAMES);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int idx = 0; idx < 1000; idx++) {
+            mixer.mix(out, FRAMES);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Allow for the measurement itself, one allocation per mix() would exceed it.
+        assertTrue("mix allocated " + allocated + " bytes", allocated < 1024);
+        assertEquals(4, mixer.getActiveVoices());
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static PcmSound constant(int value, int sampleRate, int channels, int frames) {
+        short[] samples = new short[frames * channels];
+        Arrays.fill(samples, (short) value);
+        return new PcmSound("constant", samples, sampleRate, channels);
+    }
+
+    private static void assertAll(short[] out, int expected) {
+        for (int idx = 0; idx < out.length; idx++) {
+            assertEquals("sample " + idx, expected, out[idx]);
+        }
+    }
+}
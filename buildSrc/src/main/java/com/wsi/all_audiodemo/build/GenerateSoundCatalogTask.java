@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+package com.wsi.all_audiodemo.build;
+
+import com.wsi.all_audiodemo.audio.SoundInfo;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generate assets/sound_catalog.bin, precomputed metadata for every sound in res/raw/.
+ * <p>
+ * Each sound is probed once at build time for duration, sample rate, channels, size and
+ * content hash, and stored in SoundIds order with its category prefix. res/raw/ is the
+ * single copy of every sound, SoundStore serves both raw and asset style access from it.
+ * <p>
+ * The build fails if two res/raw/ sounds have the same content, or if a sound under
+ * assetDir duplicates one in res/raw/, since either packages the same bytes twice.
+ */
+public abstract class GenerateSoundCatalogTask extends DefaultTask {
+
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getRawDir();
+
+    /** Source assets, checked for copies of res/raw/ sounds. */
+    @InputDirectory
+    @Optional
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getAssetDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File rawDir = getRawDir().get().getAsFile();
+        File assetDir = getAssetDir().isPresent() ? getAssetDir().get().getAsFile() : null;
+        List<String> names = GenerateSoundIdsTask.listSoundNames(rawDir);
+
+        File outDir = getOutputDir().get().getAsFile();
+
+        List<SoundInfo> sounds = new ArrayList<>(names.size());
+        Map<Long, String> hashes = new HashMap<>();
+        List<String> duplicates = new ArrayList<>();
+        long totalMilli = 0;
+        for (int idx = 0; idx < names.size(); idx++) {
+            String name = names.get(idx);
+            File file = findSound(rawDir, name);
+            byte[] data = Files.readAllBytes(file.toPath());
+            SoundInfo sound = SoundInfo.probe(name, data, idx);
+            String other = hashes.putIfAbsent(sound.contentHash, file.getName());
+            if (other != null) {
+                duplicates.add("res/raw/" + file.getName() + " duplicates res/raw/" + other);
+            }
+            if (sound.durationMilli == 0) {
+                getLogger().warn("Sound catalog: no duration for " + file.getName());
+            }
+            sounds.add(sound);
+            totalMilli += sound.durationMilli;
+        }
+
+        if (assetDir != null) {
+            checkAssets(assetDir, hashes, duplicates);
+        }
+        if (!duplicates.isEmpty()) {
+            throw new GradleException("Duplicate sound content, keep one copy in res/raw:\n  "
+                    + String.join("\n  ", duplicates));
+        }
+
+        File outFile = new File(outDir, SoundInfo.CATALOG_ASSET);
+        Files.createDirectories(outFile.getParentFile().toPath());
+        byte[] catalog = SoundInfo.write(sounds);
+        Files.write(outFile.toPath(), catalog);
+        getLogger().info(String.format(Locale.US, "Sound catalog %d sounds, %d seconds, %d bytes",
+                sounds.size(), totalMilli / 1000, catalog.length));
+    }
+
+    private static void checkAssets(File assetDir, Map<Long, String> hashes, List<String> duplicates)
+            throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(assetDir.toPath())) {
+            files = paths.filter(path -> Files.isRegularFile(path) && isSoundFile(path.getFileName().toString()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path path : files) {
+            String other = hashes.get(SoundInfo.contentHash(Files.readAllBytes(path)));
+            if (other != null) {
+                String assetPath = assetDir.toPath().relativize(path).toString().replace(File.separatorChar, '/');
+                duplicates.add("assets/" + assetPath + " duplicates res/raw/" + other);
+            }
+        }
+    }
+
+    private static boolean isSoundFile(String fileName) {
+        for (String ext : GenerateSoundIdsTask.SOUND_EXTENSIONS) {
+            if (fileName.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static File findSound(File dir, String name) {
+        for (String ext : GenerateSoundIdsTask.SOUND_EXTENSIONS) {
+            File file = new File(dir, name + ext);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
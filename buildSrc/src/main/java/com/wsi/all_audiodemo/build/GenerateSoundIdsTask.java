@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+package com.wsi.all_audiodemo.build;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generate SoundIds.java, a static name to R.raw id table for every sound in res/raw/.
+ * <p>
+ * Names are stored sorted so runtime lookup is a binary search with no reflection,
+ * and referencing R.raw fields directly lets resource shrinking see which sounds are used.
+ */
+public abstract class GenerateSoundIdsTask extends DefaultTask {
+
+    static final String[] SOUND_EXTENSIONS = {".mp3", ".wav", ".ogg"};
+
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getRawDir();
+
+    @Input
+    public abstract Property<String> getPackageName();
+
+    @Input
+    public abstract Property<String> getResourceClass();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    public void generate() throws IOException {
+        List<String> names = listSoundNames(getRawDir().get().getAsFile());
+        String packageName = getPackageName().get();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("// Generated by ").append(getName()).append(" from res/raw, do not edit.\n\n");
+        sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import ").append(getResourceClass().get()).append(";\n\n");
+        sb.append("import java.util.Arrays;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Sorted res/raw name to resource id table, replaces Resources.getIdentifier().\n");
+        sb.append(" */\n");
+        sb.append("@SuppressWarnings(\"unused\")\n");
+        sb.append("public final class SoundIds {\n\n");
+        sb.append("    public static final int INVALID_ID = 0;\n\n");
+
+        sb.append("    // Sorted, index matches IDS.\n");
+        sb.append("    private static final String[] NAMES = {\n");
+        for (String name : names) {
+            sb.append("            \"").append(name).append("\",\n");
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    private static final int[] IDS = {\n");
+        for (String name : names) {
+            sb.append("            R.raw.").append(name).append(",\n");
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    // Reverse table, IDS sorted with matching NAMES index.\n");
+        sb.append("    private static final int[] SORTED_IDS = new int[IDS.length];\n");
+        sb.append("    private static final int[] SORTED_ID_INDEX = new int[IDS.length];\n\n");
+        sb.append("    static {\n");
+        sb.append("        long[] packed = new long[IDS.length];\n");
+        sb.append("        for (int idx = 0; idx < IDS.length; idx++) {\n");
+        sb.append("            packed[idx] = ((long) IDS[idx] << 32) | idx;\n");
+        sb.append("        }\n");
+        sb.append("        Arrays.sort(packed);\n");
+        sb.append("        for (int idx = 0; idx < packed.length; idx++) {\n");
+        sb.append("            SORTED_IDS[idx] = (int) (packed[idx] >>> 32);\n");
+        sb.append("            SORTED_ID_INDEX[idx] = (int) packed[idx];\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    private SoundIds() {\n");
+        sb.append("    }\n\n");
+
+        sb.append("    public static int size() {\n");
+        sb.append("        return NAMES.length;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    /** @return index of name or negative if not found. */\n");
+        sb.append("    public static int indexOf(String name) {\n");
+        sb.append("        return Arrays.binarySearch(NAMES, name);\n");
+        sb.append("    }\n\n");
+
+        sb.append("    public static String getName(int index) {\n");
+        sb.append("        return NAMES[index];\n");
+        sb.append("    }\n\n");
+
+        sb.append("    /** @return R.raw id at index, index from indexOf() or the sound catalog. */\n");
+        sb.append("    public static int getIdAt(int index) {\n");
+        sb.append("        return IDS[index];\n");
+        sb.append("    }\n\n");
+
+        sb.append("    /** @return copy of all sound names, sorted. */\n");
+        sb.append("    public static String[] getNames() {\n");
+        sb.append("        return NAMES.clone();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    /** @return R.raw id for name or INVALID_ID. */\n");
+        sb.append("    public static int getId(String name) {\n");
+        sb.append("        int idx = Arrays.binarySearch(NAMES, name);\n");
+        sb.append("        return (idx >= 0) ? IDS[idx] : INVALID_ID;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    /** @return name for R.raw id or null. */\n");
+        sb.append("    public static String getNameForId(int resId) {\n");
+        sb.append("        int idx = Arrays.binarySearch(SORTED_IDS, resId);\n");
+        sb.append("        return (idx >= 0) ? NAMES[SORTED_ID_INDEX[idx]] : null;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        File outDir = new File(getOutputDir().get().getAsFile(), packageName.replace('.', File.separatorChar));
+        Files.createDirectories(outDir.toPath());
+        Files.write(new File(outDir, "SoundIds.java").toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        getLogger().info(String.format(Locale.US, "SoundIds generated with %d sounds", names.size()));
+    }
+
+    static List<String> listSoundNames(File dir) {
+        List<String> names = new ArrayList<>();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                for (String ext : SOUND_EXTENSIONS) {
+                    if (name.endsWith(ext)) {
+                        names.add(name.substring(0, name.length() - ext.length()));
+                        break;
+                    }
+                }
+            }
+        }
+        // Natural String order, must match Arrays.binarySearch at runtime.
+        Collections.sort(names);
+        return names;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Dennis Lang (LanDen Labs)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the
+ * following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN
+ * NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * @author Dennis Lang
+ * @see https://LanDenLabs.com/
+ */
+
+
+
+package com.wsi.all_audiodemo.build;
+
+import com.wsi.all_audiodemo.audio.SoundInfo;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transcode short res/raw/ mp3 clips to 16-bit PCM wav assets, assets/pcm/{name}.wav.
+ * <p>
+ * A wav clip is stored uncompressed in the APK and needs no codec, so SoundPool and
+ * PcmCache load it with a copy instead of an mp3 decode. Clips longer than maxDurationMilli
+ * or larger than maxPcmBytes once expanded stay mp3 only. The res/raw/ original is kept
+ * as the fallback and for SoundIds.
+ * <p>
+ * Transcoding uses ffmpeg from the PATH (or the ffmpeg property). Without it the task
+ * logs a warning and produces no wav files, the app then plays the mp3 as before.
+ * The ffmpeg version is a task input, so installing or upgrading ffmpeg reruns the task.
+ * A size report is written to reportFile either way.
+ */
+public abstract class TranscodeSoundsTask extends DefaultTask {
+
+    private static final long FFMPEG_TIMEOUT_SEC = 30;
+    private static final String NO_FFMPEG = "none";
+
+    private String ffmpegVersion;
+
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getRawDir();
+
+    /** Output rate, most devices mix at 48KHz so no resampling is needed on playback. */
+    @Input
+    public abstract Property<Integer> getSampleRate();
+
+    @Input
+    public abstract Property<Integer> getMaxDurationMilli();
+
+    @Input
+    public abstract Property<Integer> getMaxPcmBytes();
+
+    @Input
+    public abstract Property<String> getFfmpeg();
+
+    /** First line of ffmpeg -version, or none when ffmpeg can not be run. */
+    @Input
+    public String getFfmpegVersion() {
+        if (ffmpegVersion == null) {
+            ffmpegVersion = readFfmpegVersion();
+        }
+        return ffmpegVersion;
+    }
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void transcode() throws IOException, InterruptedException {
+        File rawDir = getRawDir().get().getAsFile();
+        File pcmDir = new File(getOutputDir().get().getAsFile(), SoundInfo.PCM_ASSET_DIR);
+        deleteDir(pcmDir);
+        Files.createDirectories(pcmDir.toPath());
+
+        int sampleRate = getSampleRate().get();
+        boolean haveFfmpeg = !NO_FFMPEG.equals(getFfmpegVersion());
+        if (!haveFfmpeg) {
+            getLogger().warn("TranscodeSounds: " + getFfmpeg().get()
+                    + " not found, short clips will play from mp3");
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.US, "%-26s %8s %10s %10s  %s\n", "Sound", "ms", "mp3", "wav", "Result"));
+        long mp3Bytes = 0;
+        long wavBytes = 0;
+        long audioMilli = 0;
+        int wavCount = 0;
+        List<String> names = GenerateSoundIdsTask.listSoundNames(rawDir);
+        for (int idx = 0; idx < names.size(); idx++) {
+            String name = names.get(idx);
+            File file = GenerateSoundCatalogTask.findSound(rawDir, name);
+            SoundInfo sound = SoundInfo.probe(name, Files.readAllBytes(file.toPath()), idx);
+            long pcmBytes = 44 + (long) sound.durationMilli * sampleRate / 1000 * 2 * Math.max(1, sound.channelCount);
+            mp3Bytes += sound.byteSize;
+
+            String result;
+            long outBytes = 0;
+            if (!file.getName().endsWith(".mp3")) {
+                result = "not mp3";
+            } else if (sound.durationMilli == 0) {
+                result = "unknown duration";
+            } else if (sound.durationMilli > getMaxDurationMilli().get()) {
+                result = "too long, kept mp3";
+            } else if (pcmBytes > getMaxPcmBytes().get()) {
+                result = "too large, kept mp3";
+            } else if (!haveFfmpeg) {
+                result = "no ffmpeg";
+            } else {
+                File outFile = new File(pcmDir, name + ".wav");
+                if (runFfmpeg(file, outFile, sampleRate)) {
+                    outBytes = outFile.length();
+                    wavBytes += outBytes;
+                    audioMilli += sound.durationMilli;
+                    wavCount++;
+                    result = "wav";
+                } else {
+                    Files.deleteIfExists(outFile.toPath());
+                    result = "ffmpeg failed, kept mp3";
+                }
+            }
+            report.append(String.format(Locale.US, "%-26s %8d %10d %10d  %s\n",
+                    name, sound.durationMilli, sound.byteSize, outBytes, result));
+        }
+
+        // Wav assets are stored, not deflated, so they add their full size to the APK.
+        String summary = String.format(Locale.US,
+                "%d of %d clips transcoded at %dHz, APK +%d KB (mp3 total %d KB), "
+                        + "%.1f seconds of audio no longer mp3 decoded at load and first play",
+                wavCount, names.size(), sampleRate, wavBytes / 1024, mp3Bytes / 1024, audioMilli / 1000.0);
+        report.append('\n').append(summary).append('\n');
+        report.append("Measured per technique load and first audio latency is in the app Latency menu.\n");
+
+        File reportFile = getReportFile().get().getAsFile();
+        Files.createDirectories(reportFile.getParentFile().toPath());
+        Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+        getLogger().lifecycle("TranscodeSounds: " + summary);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private String readFfmpegVersion() {
+        try {
+            Process process = new ProcessBuilder(getFfmpeg().get(), "-version")
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (!process.waitFor(FFMPEG_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return NO_FFMPEG;
+            }
+            if (process.exitValue() != 0) {
+                return NO_FFMPEG;
+            }
+            int eol = output.indexOf('\n');
+            return (eol < 0) ? output : output.substring(0, eol).trim();
+        } catch (IOException | InterruptedException ex) {
+            return NO_FFMPEG;
+        }
+    }
+
+    private boolean runFfmpeg(File inFile, File outFile, int sampleRate) throws IOException, InterruptedException {
+        List<String> command = Arrays.asList(getFfmpeg().get(),
+                "-hide_banner", "-loglevel", "error", "-y",
+                "-i", inFile.getAbsolutePath(),
+                "-map_metadata", "-1",          // Plain RIFF header, no LIST chunk.
+                "-ar", String.valueOf(sampleRate),
+                "-c:a", "pcm_s16le",
+                outFile.getAbsolutePath());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (!process.waitFor(FFMPEG_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            getLogger().warn("TranscodeSounds: ffmpeg timed out on " + inFile.getName());
+            return false;
+        }
+        if (process.exitValue() != 0 || !outFile.isFile()) {
+            getLogger().warn("TranscodeSounds: ffmpeg failed on " + inFile.getName() + " " + output);
+            return false;
+        }
+        return true;
+    }
+
+    private static void deleteDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+}